@@ -0,0 +1,171 @@
+package org.example.springdemo.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Actuator endpoint ({@code /actuator/connectionpool}) reporting how long requests wait for a JDBC connection and
+ * suggesting a pool size. The pool meters are sampled every {@code app.connectionPoolSampleIntervalMs} into a
+ * sliding window of {@code app.connectionPoolWindowMs}, and reads only look at that window, so every reader sees
+ * the same figures. The concurrency of an interval is the connection time used per second of wall time in it
+ * (Little's law); the suggestion is the peak interval plus 50% headroom for bursts, capped at twice the number of
+ * cores, beyond which an in-process database only adds contention.
+ */
+@Component
+@Endpoint(id = "connectionpool")
+public class ConnectionPoolAdvisorEndpoint {
+    private static final double HEADROOM = 1.5;
+    private static final int MINIMUM_POOL_SIZE = 2;
+
+    private final HikariDataSource dataSource;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long windowNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Deque<Snapshot> samples = new ArrayDeque<>();
+
+    @Autowired
+    public ConnectionPoolAdvisorEndpoint(DataSource dataSource, MeterRegistry meterRegistry,
+                                         @Value("${app.connectionPoolWindowMs}") long windowMs) {
+        this(DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class), meterRegistry,
+                windowMs, System::nanoTime);
+    }
+
+    ConnectionPoolAdvisorEndpoint(HikariDataSource dataSource, MeterRegistry meterRegistry, long windowMs,
+                                  LongSupplier nanoClock) {
+        if (dataSource == null) {
+            throw new IllegalStateException("The connection pool advisor requires a HikariCP data source");
+        }
+
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.nanoClock = nanoClock;
+
+        sample();
+    }
+
+    @Scheduled(fixedRateString = "${app.connectionPoolSampleIntervalMs}")
+    public void sample() {
+        Snapshot snapshot = snapshot();
+
+        lock.lock();
+        try {
+            samples.addLast(snapshot);
+
+            // The oldest sample kept is the last one at or before the start of the window.
+            while (samples.size() > 1 && snapshot.nanoTime() - secondOldest().nanoTime() >= windowNanos) {
+                samples.removeFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ReadOperation
+    public PoolReport report() {
+        List<Snapshot> window;
+
+        lock.lock();
+        try {
+            window = new ArrayList<>(samples);
+        } finally {
+            lock.unlock();
+        }
+
+        window.add(snapshot());
+
+        Snapshot first = window.get(0);
+        Snapshot last = window.get(window.size() - 1);
+
+        long acquisitions = last.acquireCount() - first.acquireCount();
+        double peakConcurrency = 0;
+
+        for (int i = 1; i < window.size(); i++) {
+            peakConcurrency = Math.max(peakConcurrency, concurrency(window.get(i - 1), window.get(i)));
+        }
+
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+        return new PoolReport(
+                dataSource.getPoolName(),
+                dataSource.getMaximumPoolSize(),
+                pool == null ? 0 : pool.getActiveConnections(),
+                pool == null ? 0 : pool.getIdleConnections(),
+                pool == null ? 0 : pool.getThreadsAwaitingConnection(),
+                (last.nanoTime() - first.nanoTime()) / 1e9,
+                acquisitions,
+                acquisitions > 0 ? (last.acquireMs() - first.acquireMs()) / acquisitions : 0,
+                timer("hikaricp.connections.acquire").map(t -> t.max(TimeUnit.MILLISECONDS)).orElse(0.0),
+                concurrency(first, last),
+                peakConcurrency,
+                recommendPoolSize(peakConcurrency, Runtime.getRuntime().availableProcessors()));
+    }
+
+    static int recommendPoolSize(double concurrency, int cores) {
+        int demand = (int) Math.ceil(concurrency * HEADROOM);
+
+        return Math.max(MINIMUM_POOL_SIZE, Math.min(demand, cores * 2));
+    }
+
+    private static double concurrency(Snapshot from, Snapshot to) {
+        double elapsedMs = (to.nanoTime() - from.nanoTime()) / 1_000_000.0;
+
+        return elapsedMs > 0 ? (to.usageMs() - from.usageMs()) / elapsedMs : 0;
+    }
+
+    private Snapshot secondOldest() {
+        Iterator<Snapshot> iterator = samples.iterator();
+        iterator.next();
+
+        return iterator.next();
+    }
+
+    private Snapshot snapshot() {
+        return new Snapshot(nanoClock.getAsLong(),
+                timer("hikaricp.connections.acquire").map(Timer::count).orElse(0L),
+                timer("hikaricp.connections.acquire").map(t -> t.totalTime(TimeUnit.MILLISECONDS)).orElse(0.0),
+                timer("hikaricp.connections.usage").map(t -> t.totalTime(TimeUnit.MILLISECONDS)).orElse(0.0));
+    }
+
+    private Optional<Timer> timer(String name) {
+        return Optional.ofNullable(meterRegistry.find(name).tag("pool", dataSource.getPoolName()).timer());
+    }
+
+    private record Snapshot(long nanoTime, long acquireCount, double acquireMs, double usageMs) {
+    }
+
+    /**
+     * Pool state now, and connection waits and usage over the sampling window.
+     */
+    public record PoolReport(String pool, int maximumPoolSize, int active, int idle, int pending,
+                             double windowSeconds, long acquisitions, double acquireMeanMs, double acquireMaxMs,
+                             double observedConcurrency, double peakConcurrency, int recommendedPoolSize) {
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.springdemo.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL statistics for the actuator metrics and Prometheus endpoints, in place of per-statement log lines. Once
+ * Hibernate collects statistics, Spring Boot publishes the session-level counters ({@code hibernate.statements},
+ * {@code hibernate.flushes}, entity and cache counts); this adds the execution time of each HQL query as
+ * {@code hibernate.query.executions}, tagged with the query.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class PersistenceMetricsConfig {
+
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory",
+                Tags.empty());
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.springdemo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs JDBC statements slower than {@code app.slowQueryThresholdMs}, replacing per-statement SQL logging. Every
+ * slow statement is counted in {@code jdbc.slow.queries}, but only the share given by
+ * {@code app.slowQueryLogSampleRate} is written to the log, so a slow database cannot flood it. Bind values are
+ * only included with {@code app.slowQueryLogParameters}, as they contain password hashes and email addresses.
+ * <p>
+ * The check runs on the datasource proxy's completion callback and costs one comparison for fast statements.
+ */
+@Component
+@ConditionalOnProperty(name = "app.slowQueryLogEnabled", havingValue = "true")
+public class SlowQueryLogger implements QueryExecutionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final long thresholdMs;
+
+    private final double sampleRate;
+
+    private final boolean logParameters;
+
+    private final Counter slowQueries;
+
+    public SlowQueryLogger(MeterRegistry meterRegistry,
+                           @Value("${app.slowQueryThresholdMs}") long thresholdMs,
+                           @Value("${app.slowQueryLogSampleRate}") double sampleRate,
+                           @Value("${app.slowQueryLogParameters}") boolean logParameters) {
+        this.thresholdMs = thresholdMs;
+        this.sampleRate = sampleRate;
+        this.logParameters = logParameters;
+        this.slowQueries = Counter.builder("jdbc.slow.queries")
+                .description("JDBC statements slower than the slow query threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs) {
+            return;
+        }
+
+        slowQueries.increment();
+
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        LOGGER.warn("Slow query: {} ms, success: {}, batch size: {}, {}", execInfo.getElapsedTime(),
+                execInfo.isSuccess(), execInfo.isBatch() ? execInfo.getBatchSize() : 1,
+                queryInfoList.stream().map(this::describe).collect(Collectors.joining("; ")));
+    }
+
+    private String describe(QueryInfo queryInfo) {
+        if (!logParameters || queryInfo.getParametersList().isEmpty()) {
+            return queryInfo.getQuery();
+        }
+
+        // Only the first parameter set of a batch is logged.
+        List<ParameterSetOperation> parameters = queryInfo.getParametersList().get(0);
+
+        return queryInfo.getQuery() + " " + parameters.stream()
+                .map(ParameterSetOperation::getArgs)
+                .filter(args -> args.length > 1)
+                .map(args -> args[0] + "=" + args[1])
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.springdemo.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Span exporters beyond the OTLP/HTTP one that Spring Boot creates once {@code management.otlp.tracing.endpoint}
+ * is set. With {@code app.tracingOtlpLogEnabled} every finished batch of spans is also written to the log as one
+ * line of OTLP JSON, which needs no collector and can be replayed into one later.
+ * <p>
+ * Tasks handed to the application task executor carry the caller's observation, so work continued there, such as
+ * the insert of a signup, stays in its request trace. Annotated methods that return a stage are observed by
+ * {@link CompletionStageObservedAspect} rather than by Micrometer's {@link ObservedAspect}.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracingOtlpLogEnabled", havingValue = "true")
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "management.observations.annotations.enabled", havingValue = "true")
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry, CompletionStageObservedAspect::returnsCompletionStage);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "management.observations.annotations.enabled", havingValue = "true")
+    public CompletionStageObservedAspect completionStageObservedAspect(ObservationRegistry observationRegistry) {
+        return new CompletionStageObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.springdemo.config.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.example.springdemo.service.security.AuthMetrics;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.example.springdemo.service.security.UserDetailsServiceImpl;
+import org.example.springdemo.service.security.UserVersionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.example.springdemo.service.security.AuthMetrics.FilterPhase.AUTHENTICATE;
+import static org.example.springdemo.service.security.AuthMetrics.FilterPhase.EXTRACT;
+import static org.example.springdemo.service.security.AuthMetrics.FilterPhase.LOOKUP;
+import static org.example.springdemo.service.security.AuthMetrics.FilterPhase.VERIFY;
+import static org.example.springdemo.service.security.AuthMetrics.FilterRejection.INVALID;
+import static org.example.springdemo.service.security.AuthMetrics.FilterRejection.MALFORMED;
+import static org.example.springdemo.service.security.AuthMetrics.FilterRejection.REVOKED;
+import static org.example.springdemo.service.security.AuthMetrics.FilterRejection.USER_NOT_FOUND;
+
+public class AuthTokenFilter extends OncePerRequestFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthTokenFilter.class);
+    private static final String AUTH_REQUEST = "/api/auth";
+    private static final String SIGNOUT_REQUEST = "/api/auth/signout";
+    private static final String OBSERVATION_NAME = "auth.filter";
+    private static final String OBSERVATION_CONTEXTUAL_NAME = "auth-token-filter";
+    public static final String BEARER_HEADER_PREFIX = "Bearer ";
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserVersionRegistry userVersionRegistry;
+
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${app.jwtStatelessAuthentication}")
+    private boolean statelessAuthentication;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAuthRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Only the authentication is observed; the rest of the chain is covered by the request's own span.
+        boolean authenticated = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(OBSERVATION_CONTEXTUAL_NAME)
+                .observeChecked(() -> authenticate(request, response));
+
+        if (authenticated) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * @return {@code false} if the request was rejected and the error response has been written
+     */
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            long start = System.nanoTime();
+            String token = getTokenFromRequest(request);
+            authMetrics.filterPhase(EXTRACT, start);
+
+            if (token == null) {
+                return true;
+            }
+
+            start = System.nanoTime();
+            JwtToken jwt = jwtUtils.parseToken(token);
+            boolean revoked = tokenRevocationStore.isRevoked(jwt);
+            authMetrics.filterPhase(VERIFY, start);
+
+            if (revoked) {
+                authMetrics.filterRejected(REVOKED);
+                handleErrorToken(response, "JWT Exception: Token has been revoked");
+                return false;
+            }
+
+            if (jwt.userId() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (isTrustedWithoutLookup(jwt)) {
+                    setAuthentication(request, buildUserDetails(jwt), jwt);
+                } else {
+                    start = System.nanoTime();
+                    UserDetailsImpl userDetails = userDetailsService.loadUserById(jwt.userId());
+                    authMetrics.filterPhase(LOOKUP, start);
+
+                    if (jwtUtils.isTokenValid(jwt, userDetails)) {
+                        setAuthentication(request, userDetails, jwt);
+                    }
+                }
+            }
+
+            return true;
+        } catch (MalformedJwtException e) {
+            authMetrics.filterRejected(MALFORMED);
+            handleErrorToken(response, "Malformed JWT: " + e.getMessage());
+        } catch (JwtException e) {
+            authMetrics.filterRejected(INVALID);
+            handleErrorToken(response, "JWT Exception: " + e.getMessage());
+        } catch (UsernameNotFoundException e) {
+            authMetrics.filterRejected(USER_NOT_FOUND);
+            handleErrorToken(response, e.getMessage());
+        }
+
+        return false;
+    }
+
+    private boolean isAuthRequest(HttpServletRequest request) {
+        String path = request.getServletPath();
+
+        return path.contains(AUTH_REQUEST) && !path.contains(SIGNOUT_REQUEST);
+    }
+
+    private String getTokenFromRequest(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_HEADER_PREFIX)) {
+            return header.replace(BEARER_HEADER_PREFIX, "");
+        }
+
+        return null;
+    }
+
+    private boolean isTrustedWithoutLookup(JwtToken jwt) {
+        return statelessAuthentication && !jwt.isExpired()
+                && userVersionRegistry.isCurrent(jwt.userId(), jwt.version());
+    }
+
+    private UserDetails buildUserDetails(JwtToken jwt) {
+        List<GrantedAuthority> authorities = jwt.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(jwt.userId(), jwt.username(), jwt.email(), null, authorities, jwt.version());
+    }
+
+    private void setAuthentication(HttpServletRequest request, UserDetails userDetails, JwtToken jwt) {
+        long start = System.nanoTime();
+        // The verified token is kept as credentials so that signout can revoke it without parsing it again.
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails, jwt, userDetails.getAuthorities()
+        );
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        authMetrics.filterPhase(AUTHENTICATE, start);
+    }
+
+    private void handleErrorToken(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+        LOGGER.error("Cannot set user authentication: {}", message);
+    }
+}
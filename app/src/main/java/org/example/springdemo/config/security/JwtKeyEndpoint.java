@@ -0,0 +1,65 @@
+package org.example.springdemo.config.security;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Actuator endpoint ({@code /actuator/jwtkeys}) rotating the JWT keys of a running instance, restricted to admins.
+ * A POST to {@code /actuator/jwtkeys/{keyId}} with a {@code secret} adds a key and with {@code "active": true}
+ * makes it the signing key; a DELETE removes a key, which rejects the tokens it signed. Changes last until the next
+ * restart, so a rotation is also written to {@code app.jwtKeys} and {@code app.jwtActiveKeyId}. Reads list the key
+ * ids, never the secrets.
+ */
+@Component
+@Endpoint(id = "jwtkeys")
+public class JwtKeyEndpoint {
+    private final JwtKeyProvider keyProvider;
+
+    public JwtKeyEndpoint(JwtKeyProvider keyProvider) {
+        this.keyProvider = keyProvider;
+    }
+
+    @ReadOperation
+    public JwtKeys keys() {
+        return new JwtKeys(keyProvider.getSigningKey().id(), keyProvider.getKeyIds());
+    }
+
+    @WriteOperation
+    public JwtKeys writeKey(@Selector String keyId, @Nullable String secret, @Nullable Boolean active) {
+        try {
+            if (secret != null) {
+                keyProvider.addKey(keyId, secret);
+            }
+
+            if (Boolean.TRUE.equals(active)) {
+                keyProvider.activateKey(keyId);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+
+        return keys();
+    }
+
+    @DeleteOperation
+    public JwtKeys removeKey(@Selector String keyId) {
+        try {
+            keyProvider.removeKey(keyId);
+        } catch (IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+
+        return keys();
+    }
+
+    public record JwtKeys(String activeKeyId, Set<String> keyIds) {
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.springdemo.controller;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.example.springdemo.config.security.JwtToken;
+import org.example.springdemo.config.security.JwtUtils;
+import org.example.springdemo.config.security.TokenRevocationStore;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.request.LoginRequest;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.MessageResponse;
+import org.example.springdemo.model.response.UserInfoResponse;
+import org.example.springdemo.repository.UserConflict;
+import org.example.springdemo.repository.UserRepository;
+import org.example.springdemo.service.UserChangedEvent;
+import org.example.springdemo.service.security.AuthMetrics;
+import org.example.springdemo.service.security.AuthMetrics.SigninOutcome;
+import org.example.springdemo.service.security.AuthMetrics.SignupOutcome;
+import org.example.springdemo.service.security.LoginRateLimiter;
+import org.example.springdemo.service.security.PasswordHashingService;
+import org.example.springdemo.service.security.RoleRegistry;
+import org.example.springdemo.service.security.SigninService;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@Observed(name = "http.controller")
+@RequestMapping("/api/auth")
+public class AuthController {
+    final SigninService signinService;
+    final UserRepository userRepository;
+    final RoleRegistry roleRegistry;
+    final PasswordHashingService passwordHashingService;
+    final LoginRateLimiter loginRateLimiter;
+    final JwtUtils jwtUtils;
+    final TokenRevocationStore tokenRevocationStore;
+    final ApplicationEventPublisher eventPublisher;
+    final AuthMetrics authMetrics;
+    final Executor taskExecutor;
+
+    public AuthController(SigninService signinService, UserRepository userRepository,
+                          RoleRegistry roleRegistry, PasswordHashingService passwordHashingService,
+                          LoginRateLimiter loginRateLimiter, JwtUtils jwtUtils,
+                          TokenRevocationStore tokenRevocationStore, ApplicationEventPublisher eventPublisher,
+                          AuthMetrics authMetrics,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          Executor taskExecutor) {
+        this.signinService = signinService;
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHashingService = passwordHashingService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.eventPublisher = eventPublisher;
+        this.authMetrics = authMetrics;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @PostMapping("/signin")
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest request,
+                                                                 HttpServletRequest httpRequest) {
+        Duration retryAfter = loginRateLimiter.tryAcquire(request.getUsername(), httpRequest.getRemoteAddr());
+
+        if (!retryAfter.isZero()) {
+            authMetrics.signin(SigninOutcome.RATE_LIMITED);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfter.toMillis() + 999) / 1000))
+                    .body(new MessageResponse("Error: Too many signin attempts, please try again later.")));
+        }
+
+        CompletableFuture<UserDetailsImpl> authentication;
+
+        try {
+            authentication = signinService.authenticate(request.getUsername(), request.getPassword());
+        } catch (RejectedExecutionException e) {
+            authMetrics.signin(SigninOutcome.BUSY);
+            throw e;
+        }
+
+        return authentication
+                .whenComplete((result, error) -> authMetrics.signin(signinOutcome(error)))
+                .thenApply(userDetails -> {
+                    String token = jwtUtils.generateToken(userDetails);
+
+                    List<String> roles = userDetails.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .collect(Collectors.toList());
+
+                    return ResponseEntity.ok().body(new UserInfoResponse(userDetails.id(), userDetails.username(),
+                            userDetails.email(), roles, token));
+                });
+    }
+
+    @PostMapping("/signup")
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest request) {
+        // Checked before hashing so that a taken name does not cost a hash; the unique indexes have the final say.
+        Optional<UserConflict> conflict = userRepository.findConflict(request.getUsername(), request.getEmail());
+
+        if (conflict.isPresent()) {
+            return CompletableFuture.completedFuture(signupConflict(conflict.get()));
+        }
+
+        CompletableFuture<String> encoded;
+
+        try {
+            encoded = passwordHashingService.encode(request.getPassword());
+        } catch (RejectedExecutionException e) {
+            authMetrics.signup(SignupOutcome.BUSY);
+            throw e;
+        }
+
+        // Only the hash runs on the hashing pool; the insert waits on JDBC and would hold one of its few threads.
+        return encoded.thenApplyAsync(encodedPassword -> {
+            User user = new User(request.getUsername(), request.getEmail(), encodedPassword);
+
+            user.setRoles(roleRegistry.resolve(request.getRoles()));
+
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent signup took the username or email after the check above.
+                return UserConflict.of(e).map(this::signupConflict).orElseThrow(() -> e);
+            }
+
+            eventPublisher.publishEvent(UserChangedEvent.saved(user));
+            authMetrics.signup(SignupOutcome.SUCCESS);
+
+            return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+        }, taskExecutor);
+    }
+
+    @PostMapping("/signout")
+    @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
+    public ResponseEntity<?> logoutUser(Authentication authentication) {
+        if (authentication.getCredentials() instanceof JwtToken jwt) {
+            tokenRevocationStore.revoke(jwt);
+        }
+
+        return ResponseEntity.ok().body(new MessageResponse("You've been signed out!"));
+    }
+
+    private ResponseEntity<?> signupConflict(UserConflict conflict) {
+        return switch (conflict) {
+            case USERNAME -> {
+                authMetrics.signup(SignupOutcome.USERNAME_TAKEN);
+                yield ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
+            }
+            case EMAIL -> {
+                authMetrics.signup(SignupOutcome.EMAIL_TAKEN);
+                yield ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
+            }
+        };
+    }
+
+    private static SigninOutcome signinOutcome(Throwable error) {
+        if (error == null) {
+            return SigninOutcome.SUCCESS;
+        }
+
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+
+        return cause instanceof AuthenticationException ? SigninOutcome.BAD_CREDENTIALS : SigninOutcome.ERROR;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.springdemo.controller;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
+@Observed(name = "http.controller")
 @RequestMapping("/api/content")
 public class ContentController {
     @GetMapping("/all")
@@ -1,10 +1,12 @@
 package org.example.springdemo.controller;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@Observed(name = "http.controller")
 @RequestMapping("/")
 public class GreetingController {
     @GetMapping
@@ -0,0 +1,25 @@
+package org.example.springdemo.controller;
+
+import org.example.springdemo.model.response.MessageResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Answers a full password hashing queue, whether hit by a signin, a signup or an import, with 503 and a short
+ * {@code Retry-After}.
+ */
+@ControllerAdvice
+public class ServerBusyExceptionHandler {
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<MessageResponse> hashingPoolExhausted() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Server is busy, please try again later."));
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.springdemo.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserImportResponse;
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.example.springdemo.service.UserImportService;
+import org.example.springdemo.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = UserController.NEXT_CURSOR_HEADER)
+@RestController
+@Observed(name = "http.controller")
+@RequestMapping("/api")
+public class UserController implements UserControllerApi {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema()
+            .withHeader()
+            .withArrayElementSeparator(";");
+
+    final UserService userService;
+    final UserImportService userImportService;
+    final ObjectMapper objectMapper;
+
+    public UserController(UserService userService, UserImportService userImportService, ObjectMapper objectMapper) {
+        this.userService = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<List<UserSummaryResponse>> getAllUsers(
+            @RequestParam(name = "cursor", defaultValue = "0") long cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        try {
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            List<UserSummaryResponse> users = userService.findPage(cursor, pageSize);
+
+            if (users.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+
+            HttpHeaders headers = new HttpHeaders();
+
+            if (users.size() == pageSize) {
+                headers.set(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).id()));
+            }
+
+            return new ResponseEntity<>(users, headers, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            userService.streamAll(user -> {
+                try {
+                    writer.write(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResponse> importUsersFromJson(InputStream body) throws IOException {
+        try (MappingIterator<SignupRequest> requests = objectMapper.readerFor(SignupRequest.class).readValues(body)) {
+            return ResponseEntity.ok(userImportService.importUsers(requests));
+        }
+    }
+
+    @PostMapping(value = "/users/import", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResponse> importUsersFromCsv(InputStream body) throws IOException {
+        try (MappingIterator<SignupRequest> requests = CSV_MAPPER.readerFor(SignupRequest.class)
+                .with(CSV_SCHEMA)
+                .readValues(body)) {
+            return ResponseEntity.ok(userImportService.importUsers(requests));
+        }
+    }
+
+    @Override
+    @GetMapping("/users/{id}")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<User> getUserById(@PathVariable("id") long id) {
+        User user = userService.findById(id);
+
+        if (user != null) {
+            return new ResponseEntity<>(user, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PutMapping("/users/{id}")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<User> updateUser(@PathVariable("id") long id, @RequestBody User user) {
+        User actualUser = userService.findById(id);
+
+        if (actualUser != null) {
+            actualUser.setUsername(user.getUsername());
+            return new ResponseEntity<>(userService.save(actualUser), HttpStatus.OK);
+        } else {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @DeleteMapping("/users/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HttpStatus> deleteUser(@PathVariable("id") long id) {
+        try {
+            userService.deleteById(id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HttpStatus> deleteAllUsers() {
+        try {
+            userService.deleteAll();
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
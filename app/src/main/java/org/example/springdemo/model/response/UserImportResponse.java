@@ -0,0 +1,8 @@
+package org.example.springdemo.model.response;
+
+import java.util.List;
+
+public record UserImportResponse(long imported, List<Rejection> rejected) {
+    public record Rejection(long row, String username, String message) {
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.springdemo.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * A unique field of {@link org.example.springdemo.model.User} that is already taken, in the order in which signups
+ * report them.
+ */
+public enum UserConflict {
+    USERNAME("UK_USERS_USERNAME"),
+    EMAIL("UK_USERS_EMAIL");
+
+    private final String constraintName;
+
+    UserConflict(String constraintName) {
+        this.constraintName = constraintName;
+    }
+
+    /**
+     * Maps a failed insert or update to the unique constraint it violated, so that a concurrent signup that took a
+     * name after it was checked is reported like any other conflict.
+     */
+    public static Optional<UserConflict> of(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : e.getMostSpecificCause().getMessage();
+
+        if (constraint == null) {
+            return Optional.empty();
+        }
+
+        String name = constraint.toUpperCase(Locale.ROOT);
+
+        return Arrays.stream(values()).filter(conflict -> name.contains(conflict.constraintName)).findFirst();
+    }
+}
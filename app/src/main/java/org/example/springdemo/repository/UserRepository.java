@@ -0,0 +1,64 @@
+package org.example.springdemo.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface UserRepository extends JpaRepository<User, Long> {
+    // The security lookups fetch the roles in the same query, as every UserDetails needs its authorities.
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findByUsername(String username);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(long id);
+
+    /**
+     * Finds which of the unique fields of a signup are taken, in one round-trip. Each branch is a lookup on a unique
+     * index that returns a constant, so no table row is read.
+     */
+    default Optional<UserConflict> findConflict(String username, String email) {
+        return findConflictingFields(username, email).stream()
+                .map(UserConflict::valueOf)
+                .min(Comparator.naturalOrder());
+    }
+
+    @Query(value = "select 'USERNAME' from users where username = :username "
+            + "union all select 'EMAIL' from users where email_key = lower(:email)", nativeQuery = true)
+    List<String> findConflictingFields(String username, String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    /**
+     * @param emailKeys lower-case emails
+     */
+    @Query(value = "select email_key from users where email_key in :emailKeys", nativeQuery = true)
+    Set<String> findExistingEmailKeys(Collection<String> emailKeys);
+
+    @Query(SELECT_SUMMARIES + " where u.id > :afterId" + GROUP_SUMMARIES)
+    List<UserSummaryResponse> findSummariesAfter(long afterId, Limit limit);
+
+    @Query(SELECT_SUMMARIES + GROUP_SUMMARIES)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    Stream<UserSummaryResponse> streamSummaries();
+
+    // Role names are aggregated in the database so that a page of users costs one query and no entity hydration.
+    String SELECT_SUMMARIES = "select new org.example.springdemo.model.response.UserSummaryResponse("
+            + "u.id, u.username, u.email, listagg(cast(r.name as String), ',') within group (order by r.name)) "
+            + "from User u left join u.roles r";
+    String GROUP_SUMMARIES = " group by u.id, u.username, u.email order by u.id";
+}
@@ -0,0 +1,25 @@
+package org.example.springdemo.service;
+
+import org.example.springdemo.model.User;
+
+/**
+ * Published after a user has been written to the database so that in-process caches of user data can drop
+ * stale entries. A {@code null} user id means that all users have been removed.
+ */
+public record UserChangedEvent(Long userId, long version, boolean deleted) {
+    public static UserChangedEvent saved(User user) {
+        return new UserChangedEvent(user.getId(), user.getVersion(), false);
+    }
+
+    public static UserChangedEvent deleted(long userId) {
+        return new UserChangedEvent(userId, 0, true);
+    }
+
+    public static UserChangedEvent allDeleted() {
+        return new UserChangedEvent(null, 0, true);
+    }
+
+    public boolean isAllUsers() {
+        return userId == null;
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.springdemo.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserImportResponse;
+import org.example.springdemo.model.response.UserImportResponse.Rejection;
+import org.example.springdemo.repository.UserConflict;
+import org.example.springdemo.repository.UserRepository;
+import org.example.springdemo.service.security.PasswordHashingService;
+import org.example.springdemo.service.security.RoleRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users in chunks. Each chunk is validated against the {@link SignupRequest} constraints, checked for
+ * existing usernames and emails with one {@code IN} query per column, hashed on the {@link PasswordHashingService}
+ * pool and inserted in its own transaction, so that Hibernate can batch the inserts and the persistence context
+ * never holds more than one chunk.
+ */
+@Service
+public class UserImportService {
+    final UserRepository userRepository;
+    final RoleRegistry roleRegistry;
+    final PasswordHashingService passwordHashingService;
+    final Validator validator;
+    final EntityManager entityManager;
+    final TransactionTemplate transactionTemplate;
+    final int chunkSize;
+
+    public UserImportService(UserRepository userRepository, RoleRegistry roleRegistry, PasswordHashingService passwordHashingService,
+                             Validator validator, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.userImportChunkSize}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHashingService = passwordHashingService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public UserImportResponse importUsers(Iterator<SignupRequest> requests) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Rejection> rejected = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long imported = 0;
+        long rowNumber = 0;
+
+        while (requests.hasNext()) {
+            SignupRequest request = requests.next();
+            rowNumber++;
+
+            String error = validate(request, usernames, emails);
+
+            if (error != null) {
+                rejected.add(new Rejection(rowNumber, request.getUsername(), error));
+                continue;
+            }
+
+            chunk.add(new Row(rowNumber, request));
+
+            if (chunk.size() == chunkSize) {
+                imported += importChunk(chunk, rejected);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, rejected);
+        }
+
+        rejected.sort(Comparator.comparingLong(Rejection::row));
+
+        return new UserImportResponse(imported, rejected);
+    }
+
+    private String validate(SignupRequest request, Set<String> usernames, Set<String> emails) {
+        // Imported rows carry a single password, so there is nothing to confirm it against.
+        if (request.getConfirmPassword() == null) {
+            request.setConfirmPassword(request.getPassword());
+        }
+
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+        }
+
+        if (!usernames.add(request.getUsername())) {
+            return "Error: Username is duplicated in the import!";
+        }
+
+        if (!emails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+            return "Error: Email is duplicated in the import!";
+        }
+
+        return null;
+    }
+
+    private long importChunk(List<Row> chunk, List<Rejection> rejected) {
+        Set<String> existingUsernames = userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.request().getUsername()).toList());
+        Set<String> existingEmails = userRepository.findExistingEmailKeys(
+                chunk.stream().map(row -> row.request().getEmail().toLowerCase(Locale.ROOT)).toList());
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+
+        for (Row row : chunk) {
+            if (existingUsernames.contains(row.request().getUsername())) {
+                rejected.add(row.rejection(UserConflict.USERNAME));
+            } else if (existingEmails.contains(row.request().getEmail().toLowerCase(Locale.ROOT))) {
+                rejected.add(row.rejection(UserConflict.EMAIL));
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        // Password hashing dominates the cost of an import, so it is spread over the hashing threads.
+        List<String> encodedPasswords = passwordHashingService.encodeAll(
+                accepted.stream().map(row -> row.request().getPassword()).toList());
+
+        List<HashedRow> hashed = new ArrayList<>(accepted.size());
+
+        for (int i = 0; i < accepted.size(); i++) {
+            hashed.add(new HashedRow(accepted.get(i), encodedPasswords.get(i)));
+        }
+
+        return insert(hashed, rejected);
+    }
+
+    /**
+     * Inserts the rows in one transaction. A concurrent signup can take a name after the check in
+     * {@link #importChunk}; the rows are then retried in halves until the conflicting ones are isolated and
+     * rejected with the constraint they violated, so the rest of the chunk is still imported.
+     */
+    private long insert(List<HashedRow> rows, List<Rejection> rejected) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Built per attempt, since a rolled back insert leaves its identifiers on the entities. Flushed
+                // through the repository, so that a violated constraint is translated for the catch below.
+                userRepository.saveAllAndFlush(rows.stream().map(this::toUser).toList());
+                entityManager.clear();
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                Row row = rows.get(0).row();
+                rejected.add(row.rejection(UserConflict.of(e).orElseThrow(() -> e)));
+                return 0;
+            }
+
+            int half = rows.size() / 2;
+
+            return insert(rows.subList(0, half), rejected) + insert(rows.subList(half, rows.size()), rejected);
+        }
+
+        return rows.size();
+    }
+
+    private User toUser(HashedRow row) {
+        SignupRequest request = row.row().request();
+
+        User user = new User(request.getUsername(), request.getEmail(), row.encodedPassword());
+        user.setRoles(roleRegistry.resolve(request.getRoles()));
+
+        return user;
+    }
+
+    private record Row(long number, SignupRequest request) {
+
+        Rejection rejection(UserConflict conflict) {
+            String message = switch (conflict) {
+                case USERNAME -> "Error: Username is already taken!";
+                case EMAIL -> "Error: Email is already in use!";
+            };
+
+            return new Rejection(number, request.getUsername(), message);
+        }
+    }
+
+    private record HashedRow(Row row, String encodedPassword) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.springdemo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.example.springdemo.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * User queries and changes. Each operation is timed in {@code users.query}, tagged with the operation; the timing
+ * of {@link #streamAll(Consumer)} includes the consumer, which writes the rows to the response.
+ */
+@Service
+public class UserService {
+    private static final String METER_NAME = "users.query";
+
+    final UserRepository userRepository;
+    final ApplicationEventPublisher eventPublisher;
+
+    private final Timer findPageTimer;
+    private final Timer streamAllTimer;
+    private final Timer findByIdTimer;
+    private final Timer saveTimer;
+    private final Timer deleteByIdTimer;
+    private final Timer deleteAllTimer;
+
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.findPageTimer = timer(meterRegistry, "find_page");
+        this.streamAllTimer = timer(meterRegistry, "stream_all");
+        this.findByIdTimer = timer(meterRegistry, "find_by_id");
+        this.saveTimer = timer(meterRegistry, "save");
+        this.deleteByIdTimer = timer(meterRegistry, "delete_by_id");
+        this.deleteAllTimer = timer(meterRegistry, "delete_all");
+    }
+
+    public List<UserSummaryResponse> findPage(long afterId, int size) {
+        return findPageTimer.record(() -> userRepository.findSummariesAfter(afterId, Limit.of(size)));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserSummaryResponse> consumer) {
+        streamAllTimer.record(() -> {
+            try (Stream<UserSummaryResponse> users = userRepository.streamSummaries()) {
+                users.forEach(consumer);
+            }
+        });
+    }
+
+    public User findById(long id) {
+        return findByIdTimer.record(() -> userRepository.findById(id).orElse(null));
+    }
+
+    public User save(User user) {
+        User save = saveTimer.record(() -> userRepository.save(user));
+        eventPublisher.publishEvent(UserChangedEvent.saved(save));
+        return save;
+    }
+
+    public void deleteById(long id) {
+        deleteByIdTimer.record(() -> userRepository.deleteById(id));
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
+    }
+
+    public void deleteAll() {
+        deleteAllTimer.record(() -> userRepository.deleteAll());
+        eventPublisher.publishEvent(UserChangedEvent.allDeleted());
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METER_NAME)
+                .description("Time spent in user queries")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.springdemo.service.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Meters of the authentication flows. Every tag takes its value from one of the enums below, so the number of
+ * series is fixed, and all meters are registered up front, so recording does not look anything up.
+ */
+@Component
+public class AuthMetrics {
+    private final Map<FilterPhase, Timer> filterPhases;
+
+    private final Map<FilterRejection, Counter> filterRejections;
+
+    private final Map<SigninOutcome, Counter> signins;
+
+    private final Map<SignupOutcome, Counter> signups;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.filterPhases = meters(FilterPhase.class, phase -> Timer.builder("auth.filter.phase")
+                .description("Time spent in each phase of the JWT authentication filter")
+                .tag("phase", tagValue(phase))
+                .register(meterRegistry));
+        this.filterRejections = meters(FilterRejection.class, reason -> Counter.builder("auth.filter.rejected")
+                .description("Requests rejected by the JWT authentication filter")
+                .tag("reason", tagValue(reason))
+                .register(meterRegistry));
+        this.signins = meters(SigninOutcome.class, outcome -> Counter.builder("auth.signin")
+                .description("Signin attempts")
+                .tag("outcome", tagValue(outcome))
+                .register(meterRegistry));
+        this.signups = meters(SignupOutcome.class, outcome -> Counter.builder("auth.signup")
+                .description("Signup attempts")
+                .tag("outcome", tagValue(outcome))
+                .register(meterRegistry));
+    }
+
+    /**
+     * Records the time from {@code startNanos}, a {@link System#nanoTime()} reading, until now.
+     */
+    public void filterPhase(FilterPhase phase, long startNanos) {
+        filterPhases.get(phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void filterRejected(FilterRejection reason) {
+        filterRejections.get(reason).increment();
+    }
+
+    public void signin(SigninOutcome outcome) {
+        signins.get(outcome).increment();
+    }
+
+    public void signup(SignupOutcome outcome) {
+        signups.get(outcome).increment();
+    }
+
+    private static <E extends Enum<E>, M> Map<E, M> meters(Class<E> type, Function<E, M> factory) {
+        Map<E, M> meters = new EnumMap<>(type);
+
+        for (E value : type.getEnumConstants()) {
+            meters.put(value, factory.apply(value));
+        }
+
+        return meters;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum FilterPhase {
+        EXTRACT,
+        VERIFY,
+        LOOKUP,
+        AUTHENTICATE
+    }
+
+    public enum FilterRejection {
+        MALFORMED,
+        INVALID,
+        REVOKED,
+        USER_NOT_FOUND
+    }
+
+    public enum SigninOutcome {
+        SUCCESS,
+        BAD_CREDENTIALS,
+        RATE_LIMITED,
+        BUSY,
+        ERROR
+    }
+
+    public enum SignupOutcome {
+        SUCCESS,
+        USERNAME_TAKEN,
+        EMAIL_TAKEN,
+        BUSY
+    }
+}
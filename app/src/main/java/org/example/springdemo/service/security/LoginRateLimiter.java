@@ -0,0 +1,133 @@
+package org.example.springdemo.service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limiter for signin attempts, applied per username and per client address before any password
+ * is checked. Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the generic cell
+ * rate algorithm), so a check is one compare-and-set and needs no lock. Buckets live in a size-bounded cache
+ * and are evicted once they have been idle long enough to refill completely.
+ * <p>
+ * The client address is the remote address of the request, which {@code server.forward-headers-strategy} resolves
+ * from the {@code X-Forwarded-For} header of a trusted proxy.
+ */
+@Component
+public class LoginRateLimiter {
+    private final boolean enabled;
+
+    private final Limit usernameLimit;
+
+    private final Limit addressLimit;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongSupplier nanoClock;
+
+    private final Counter usernameRejections;
+
+    private final Counter addressRejections;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.loginRateLimitEnabled}") boolean enabled,
+                            @Value("${app.loginRateLimitUsernamePerMinute}") int usernamePerMinute,
+                            @Value("${app.loginRateLimitUsernameBurst}") int usernameBurst,
+                            @Value("${app.loginRateLimitAddressPerMinute}") int addressPerMinute,
+                            @Value("${app.loginRateLimitAddressBurst}") int addressBurst,
+                            @Value("${app.loginRateLimitMaximumKeys}") long maximumKeys) {
+        this(meterRegistry, enabled, new Limit(usernamePerMinute, usernameBurst),
+                new Limit(addressPerMinute, addressBurst), maximumKeys, System::nanoTime);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, boolean enabled, Limit usernameLimit, Limit addressLimit,
+                     long maximumKeys, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.usernameLimit = usernameLimit;
+        this.addressLimit = addressLimit;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(usernameLimit.refillNanos(), addressLimit.refillNanos())))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "auth.signin.buckets");
+        this.usernameRejections = Counter.builder("auth.signin.rate.limited")
+                .tag("key", "username")
+                .register(meterRegistry);
+        this.addressRejections = Counter.builder("auth.signin.rate.limited")
+                .tag("key", "address")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the buckets of the client address and the username.
+     *
+     * @return {@link Duration#ZERO} if the attempt may proceed, otherwise how long the caller should wait
+     */
+    public Duration tryAcquire(String username, String address) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+
+        long now = nanoClock.getAsLong();
+
+        long wait = acquire("a:" + address, addressLimit, now);
+
+        if (wait > 0) {
+            addressRejections.increment();
+            return Duration.ofNanos(wait);
+        }
+
+        // Usernames are matched case-insensitively so that varying the case does not open a new bucket.
+        wait = acquire("u:" + username.toLowerCase(Locale.ROOT), usernameLimit, now);
+
+        if (wait > 0) {
+            usernameRejections.increment();
+            return Duration.ofNanos(wait);
+        }
+
+        return Duration.ZERO;
+    }
+
+    private long acquire(String key, Limit limit, long now) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now - limit.refillNanos()));
+
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + limit.intervalNanos();
+            long wait = next - now - limit.toleranceNanos();
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    record Limit(long intervalNanos, long toleranceNanos) {
+        Limit(int perMinute, int burst) {
+            this(TimeUnit.MINUTES.toNanos(1) / perMinute, TimeUnit.MINUTES.toNanos(1) / perMinute * burst);
+        }
+
+        long refillNanos() {
+            return intervalNanos + toleranceNanos;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.springdemo.service.security;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the number of cores, so that a burst of
+ * signins or signups cannot occupy every servlet thread. The queue is bounded and a full queue fails the call
+ * immediately with a {@link RejectedExecutionException} instead of letting the latency grow without limit.
+ */
+@Service
+public class PasswordHashingService {
+    final PasswordEncoder encoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ExecutorService tracingExecutor;
+
+    public PasswordHashingService(PasswordEncoder encoder, MeterRegistry meterRegistry,
+                                  @Value("${app.passwordHashingThreads}") int threads,
+                                  @Value("${app.passwordHashingQueueCapacity}") int queueCapacity) {
+        this.encoder = encoder;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Tasks carry the caller's observation, so that the hashing of a request joins its trace.
+        this.tracingExecutor = ContextExecutorService.wrap(executor, ContextSnapshotFactory.builder().build()::captureAll);
+
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes a batch of passwords, such as those of an import, with at most one task per pool thread in flight. The
+     * batch keeps every hashing thread busy but leaves the queue to interactive signins and signups.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Semaphore inFlight = new Semaphore(executor.getMaximumPoolSize());
+        List<CompletableFuture<String>> encoded = new ArrayList<>(rawPasswords.size());
+
+        for (CharSequence rawPassword : rawPasswords) {
+            inFlight.acquireUninterruptibly();
+
+            try {
+                encoded.add(encode(rawPassword).whenComplete((result, error) -> inFlight.release()));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        return encoded.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Runs a task on the hashing pool. Tasks should do nothing but hash: anything that waits, such as a query, holds
+     * one of the few threads sized to the cores.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, tracingExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.springdemo.service.security;
+
+import org.example.springdemo.model.security.Role;
+import org.example.springdemo.model.security.Roles;
+import org.example.springdemo.repository.security.RoleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.example.springdemo.model.security.Roles.ROLE_USER;
+
+/**
+ * Immutable snapshot of the {@link Role} reference data, loaded once the application is ready. The entities are
+ * attached to new users by reference, so resolving roles does not query the database. A lookup that misses the
+ * snapshot reloads it once before failing, which covers roles inserted after startup.
+ */
+@Component
+public class RoleRegistry {
+    final RoleRepository roleRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Map<Roles, Role> roles = Collections.emptyMap();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        // A lock rather than synchronized, so that a virtual thread waiting on the query does not pin its carrier.
+        lock.lock();
+        try {
+            Map<Roles, Role> loaded = new EnumMap<>(Roles.class);
+            roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+            roles = Collections.unmodifiableMap(loaded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Role get(Roles name) {
+        Role role = roles.get(name);
+
+        if (role == null) {
+            refresh();
+            role = roles.get(name);
+        }
+
+        if (role == null) {
+            throw new RuntimeException("Error: Role is not found.");
+        }
+
+        return role;
+    }
+
+    /**
+     * Resolves the role names of a signup or import request, see {@link Roles#fromRequestName(String)}.
+     */
+    public Set<Role> resolve(Set<String> names) {
+        Set<Role> resolved = new HashSet<>();
+
+        if (names == null) {
+            resolved.add(get(ROLE_USER));
+            return resolved;
+        }
+
+        names.forEach(name -> resolved.add(get(Roles.fromRequestName(name))));
+
+        return resolved;
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.springdemo.service.security;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Checks signin credentials with only the password comparison and re-encoding on the {@link PasswordHashingService}
+ * pool. The user is looked up on the calling thread and an outdated hash is stored from the application task
+ * executor, so no JDBC call holds one of the few hashing threads. As with Spring Security's
+ * {@code DaoAuthenticationProvider}, an unknown username is still compared against a hash and fails like a wrong
+ * password, so that response times do not tell which usernames exist.
+ */
+@Service
+public class SigninService {
+    private static final String USER_NOT_FOUND_PASSWORD = "userNotFoundPassword";
+
+    final UserDetailsServiceImpl userDetailsService;
+    final PasswordEncoder encoder;
+    final PasswordHashingService passwordHashingService;
+    final Executor taskExecutor;
+
+    private volatile String userNotFoundEncodedPassword;
+
+    public SigninService(UserDetailsServiceImpl userDetailsService, PasswordEncoder encoder,
+                         PasswordHashingService passwordHashingService,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                         Executor taskExecutor) {
+        this.userDetailsService = userDetailsService;
+        this.encoder = encoder;
+        this.passwordHashingService = passwordHashingService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Completes with the user's details, or exceptionally with a {@link BadCredentialsException} if the username is
+     * unknown or the password does not match.
+     *
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public CompletableFuture<UserDetailsImpl> authenticate(String username, String password) {
+        UserDetailsImpl userDetails;
+
+        try {
+            userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return passwordHashingService.matches(password, userNotFoundEncodedPassword())
+                    .thenApplyAsync(matches -> {
+                        throw new BadCredentialsException("Bad credentials");
+                    }, taskExecutor);
+        }
+
+        return passwordHashingService.matches(password, userDetails.getPassword())
+                .thenComposeAsync(matches -> {
+                    if (!matches) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+
+                    return upgradeEncoding(userDetails, password);
+                }, taskExecutor);
+    }
+
+    private CompletableFuture<UserDetailsImpl> upgradeEncoding(UserDetailsImpl userDetails, String password) {
+        if (!encoder.upgradeEncoding(userDetails.getPassword())) {
+            return CompletableFuture.completedFuture(userDetails);
+        }
+
+        CompletableFuture<String> encoded;
+
+        try {
+            encoded = passwordHashingService.encode(password);
+        } catch (RejectedExecutionException e) {
+            // The password was verified; the re-encoding is left to a later signin rather than failing this one.
+            return CompletableFuture.completedFuture(userDetails);
+        }
+
+        return encoded.thenApplyAsync(
+                encodedPassword -> (UserDetailsImpl) userDetailsService.updatePassword(userDetails, encodedPassword),
+                taskExecutor);
+    }
+
+    private String userNotFoundEncodedPassword() {
+        String encodedPassword = userNotFoundEncodedPassword;
+
+        if (encodedPassword == null) {
+            // Encoded once on the calling thread; concurrent first signins may each encode it, which is harmless.
+            encodedPassword = encoder.encode(USER_NOT_FOUND_PASSWORD);
+            userNotFoundEncodedPassword = encodedPassword;
+        }
+
+        return encodedPassword;
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.springdemo.service.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.springdemo.service.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Local cache of {@link UserDetailsImpl} records keyed by user id and by username. Entries are dropped on
+ * every {@link UserChangedEvent}, once the transaction that made the change has committed: dropped any earlier, a
+ * concurrent load could still read the old row and cache it again. The size and time-to-live bounds only limit
+ * memory and staleness across application instances.
+ * <p>
+ * Loaders run on the calling thread, inside its transaction, but outside the map's {@code synchronized} bin lock:
+ * a database load inside that lock would pin a virtual thread to its carrier. Concurrent callers for the same key
+ * wait on the in-flight load instead of starting another one, and load for themselves if it fails. A load that
+ * overlaps a change of the user it loaded may have read the old row, so its result is handed to the waiting
+ * callers but not kept in the cache.
+ */
+@Component
+public class UserDetailsCache {
+    private final AsyncCache<Long, UserDetailsImpl> byId;
+
+    private final AsyncCache<String, UserDetailsImpl> byUsername;
+
+    // The username each user was last loaded under, so that a change invalidates a single byUsername entry.
+    private final Cache<Long, String> usernames;
+
+    private final Set<PendingLoad> pendingLoads = ConcurrentHashMap.newKeySet();
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${app.userDetailsCacheMaximumSize}") long maximumSize,
+                            @Value("${app.userDetailsCacheExpirationMs}") long expirationMs) {
+        this.byId = buildCache(maximumSize, expirationMs);
+        this.byUsername = buildCache(maximumSize, expirationMs);
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expirationMs))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId.synchronous(), "user.details.id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername.synchronous(), "user.details.username");
+    }
+
+    public UserDetailsImpl getById(long id, Function<Long, UserDetailsImpl> loader) {
+        return getOrLoad(byId, id, loader);
+    }
+
+    public UserDetailsImpl getByUsername(String username, Function<String, UserDetailsImpl> loader) {
+        return getOrLoad(byUsername, username, key -> {
+            UserDetailsImpl userDetails = loader.apply(key);
+            usernames.put(userDetails.id(), key);
+            return userDetails;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Marked before the entries are invalidated, so a load either sees the mark or has its entry invalidated.
+        pendingLoads.forEach(pending -> pending.changed(event));
+
+        if (event.isAllUsers()) {
+            byId.synchronous().invalidateAll();
+            byUsername.synchronous().invalidateAll();
+            usernames.invalidateAll();
+            return;
+        }
+
+        byId.synchronous().invalidate(event.userId());
+
+        // The username may have changed, so the entry is found through the id rather than the new name.
+        String username = usernames.asMap().remove(event.userId());
+
+        if (username != null) {
+            byUsername.synchronous().invalidate(username);
+        }
+    }
+
+    private <K> UserDetailsImpl getOrLoad(AsyncCache<K, UserDetailsImpl> cache, K key,
+                                          Function<K, UserDetailsImpl> loader) {
+        CompletableFuture<UserDetailsImpl> loading = new CompletableFuture<>();
+
+        while (true) {
+            // getIfPresent records the hit or miss; the map view below does not.
+            CompletableFuture<UserDetailsImpl> existing = cache.getIfPresent(key);
+
+            if (existing == null) {
+                existing = cache.asMap().putIfAbsent(key, loading);
+            }
+
+            if (existing == null) {
+                break;
+            }
+
+            UserDetailsImpl userDetails = existing.join();
+
+            if (userDetails != null) {
+                return userDetails;
+            }
+
+            // The load this call waited on failed; it is retried here so that this caller sees its own exception.
+        }
+
+        PendingLoad pending = new PendingLoad();
+        pendingLoads.add(pending);
+        UserDetailsImpl userDetails = null;
+
+        try {
+            userDetails = loader.apply(key);
+            loading.complete(userDetails);
+
+            if (pending.isStale(userDetails.id())) {
+                cache.asMap().remove(key, loading);
+            }
+
+            return userDetails;
+        } finally {
+            pendingLoads.remove(pending);
+
+            if (userDetails == null) {
+                // A failed load is removed and completed empty rather than exceptionally: the cache logs every
+                // exceptional completion with its stack trace, which an unknown username must not cost.
+                cache.asMap().remove(key, loading);
+                loading.complete(null);
+            }
+        }
+    }
+
+    private static <K> AsyncCache<K, UserDetailsImpl> buildCache(long maximumSize, long expirationMs) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expirationMs))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * The users changed while a load was in flight. The loaded user is only known once the load completes.
+     */
+    private static final class PendingLoad {
+        private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+
+        private volatile boolean allChanged;
+
+        void changed(UserChangedEvent event) {
+            if (event.isAllUsers()) {
+                allChanged = true;
+            } else {
+                changedIds.add(event.userId());
+            }
+        }
+
+        boolean isStale(Long userId) {
+            return allChanged || changedIds.contains(userId);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.springdemo.service.security;
+
+import io.micrometer.observation.annotation.Observed;
+import org.example.springdemo.model.User;
+import org.example.springdemo.repository.UserRepository;
+import org.example.springdemo.service.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    final UserRepository userRepository;
+    final UserVersionRegistry userVersionRegistry;
+    final UserDetailsCache userDetailsCache;
+    final ApplicationEventPublisher eventPublisher;
+
+    public UserDetailsServiceImpl(UserRepository userRepository, UserVersionRegistry userVersionRegistry,
+                                  UserDetailsCache userDetailsCache, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.userVersionRegistry = userVersionRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    @Observed(name = "auth.user.details", contextualName = "load-user-by-username")
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.getByUsername(username, key -> {
+            User user = userRepository.findByUsername(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + key));
+
+            return build(user);
+        });
+    }
+
+    @Transactional
+    @Observed(name = "auth.user.details", contextualName = "load-user-by-id")
+    public UserDetailsImpl loadUserById(long id) throws UsernameNotFoundException {
+        return userDetailsCache.getById(id, key -> {
+            User user = userRepository.findWithRolesById(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with id: " + key));
+
+            return build(user);
+        });
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        long id = ((UserDetailsImpl) userDetails).id();
+        User user = userRepository.findWithRolesById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with id: " + id));
+
+        user.setPassword(newPassword);
+        User saved = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.saved(saved));
+
+        return build(saved);
+    }
+
+    private UserDetailsImpl build(User user) {
+        userVersionRegistry.update(user.getId(), user.getVersion());
+
+        return toUserDetails(user);
+    }
+
+    public static UserDetailsImpl toUserDetails(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), authorities,
+                user.getVersion());
+    }
+}
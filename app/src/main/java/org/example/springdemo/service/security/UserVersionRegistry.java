@@ -0,0 +1,67 @@
+package org.example.springdemo.service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.springdemo.service.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the latest known version of each user so that a token carrying the same version can be trusted
+ * without loading the user from the database. A missing entry means the version is unknown, and callers have
+ * to fall back to the database.
+ * <p>
+ * Change events only reach the local instance, so entries expire after {@code app.userDetailsCacheExpirationMs},
+ * the same staleness bound as {@link UserDetailsCache}: a change made on another instance is picked up from the
+ * database once the entry has expired, rather than trusted for the lifetime of the token.
+ */
+@Component
+public class UserVersionRegistry {
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final Cache<Long, Long> versions;
+
+    @Autowired
+    public UserVersionRegistry(@Value("${app.userVersionRegistryMaximumSize}") long maximumSize,
+                               @Value("${app.userDetailsCacheExpirationMs}") long expirationMs) {
+        this(maximumSize, expirationMs, System::nanoTime);
+    }
+
+    UserVersionRegistry(long maximumSize, long expirationMs, LongSupplier nanoClock) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expirationMs))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, Long version) {
+        if (userId == null || version == null) {
+            return false;
+        }
+
+        return version.equals(versions.getIfPresent(userId));
+    }
+
+    public void update(long userId, long version) {
+        // Versions only grow, so a slow reader can never roll back a version recorded by a concurrent write.
+        versions.asMap().merge(userId, version, Math::max);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isAllUsers()) {
+            versions.invalidateAll();
+        } else if (event.deleted()) {
+            update(event.userId(), DELETED);
+        } else {
+            update(event.userId(), event.version());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Emails are unique regardless of case. H2 has no expression indexes, so the unique index is on a generated
+-- lower-case copy of the column, which also serves the signup and import lookups. Usernames stay case-sensitive,
+-- as signin matches them exactly; their unique constraint index serves those lookups.
+ALTER TABLE users ADD COLUMN email_key VARCHAR(50) GENERATED ALWAYS AS (LOWER(email));
+ALTER TABLE users DROP CONSTRAINT uk_users_email;
+CREATE UNIQUE INDEX uk_users_email_key ON users (email_key);
@@ -0,0 +1,103 @@
+package org.example.springdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springdemo.annotation.WithMockAdmin;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest
+class ConnectionPoolAdvisorEndpointTest {
+    private static final String POOL = "test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/connectionpool"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockAdmin
+    void shouldReportPoolWaitsAndRecommendation() throws Exception {
+        mockMvc.perform(get("/actuator/connectionpool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maximumPoolSize").value(10))
+                .andExpect(jsonPath("$.acquisitions").value(greaterThan(0)))
+                .andExpect(jsonPath("$.acquireMeanMs").isNumber())
+                .andExpect(jsonPath("$.observedConcurrency").isNumber())
+                .andExpect(jsonPath("$.peakConcurrency").isNumber())
+                .andExpect(jsonPath("$.recommendedPoolSize").isNumber());
+    }
+
+    @Test
+    void shouldReportPeakOfSlidingWindowWithoutResettingIt() {
+        AtomicLong clock = new AtomicLong();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Timer usage = Timer.builder("hikaricp.connections.usage").tag("pool", POOL).register(meterRegistry);
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", POOL).register(meterRegistry);
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setPoolName(POOL);
+            ConnectionPoolAdvisorEndpoint endpoint = new ConnectionPoolAdvisorEndpoint(dataSource, meterRegistry,
+                    10_000, clock::get);
+
+            // Four connections busy for the first second, one for each of the next two.
+            usage.record(Duration.ofSeconds(4));
+            acquire.record(Duration.ofMillis(30));
+            tick(clock, endpoint);
+            usage.record(Duration.ofSeconds(1));
+            acquire.record(Duration.ofMillis(10));
+            tick(clock, endpoint);
+            usage.record(Duration.ofSeconds(1));
+            tick(clock, endpoint);
+
+            ConnectionPoolAdvisorEndpoint.PoolReport report = endpoint.report();
+
+            assertEquals(report, endpoint.report());
+            assertEquals(3, report.windowSeconds());
+            assertEquals(2, report.acquisitions());
+            assertEquals(20, report.acquireMeanMs());
+            assertEquals(2, report.observedConcurrency());
+            assertEquals(4, report.peakConcurrency());
+
+            // Once the first second has left the window, so has its peak.
+            for (int i = 0; i < 8; i++) {
+                tick(clock, endpoint);
+            }
+
+            assertEquals(1, endpoint.report().peakConcurrency());
+        }
+    }
+
+    @Test
+    void shouldRecommendPoolSizeFromObservedConcurrency() {
+        assertEquals(2, ConnectionPoolAdvisorEndpoint.recommendPoolSize(0, 8));
+        assertEquals(6, ConnectionPoolAdvisorEndpoint.recommendPoolSize(4, 8));
+        assertEquals(16, ConnectionPoolAdvisorEndpoint.recommendPoolSize(40, 8));
+    }
+
+    private static void tick(AtomicLong clock, ConnectionPoolAdvisorEndpoint endpoint) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        endpoint.sample();
+    }
+}
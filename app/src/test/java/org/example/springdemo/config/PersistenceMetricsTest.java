@@ -0,0 +1,43 @@
+package org.example.springdemo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.springdemo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("prod")
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(properties = {
+        "app.slowQueryThresholdMs=0",
+        "spring.datasource.url=jdbc:h2:mem:persistencemetricsdb"
+})
+class PersistenceMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldCountSlowQueries() {
+        double before = meterRegistry.get("jdbc.slow.queries").counter().count();
+
+        userRepository.count();
+
+        assertTrue(meterRegistry.get("jdbc.slow.queries").counter().count() > before);
+    }
+
+    @Test
+    void shouldPublishHibernateStatistics() {
+        userRepository.findAll();
+
+        assertTrue(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count() > 0);
+        assertTrue(meterRegistry.get("hibernate.query.executions").functionCounter().count() > 0);
+    }
+}
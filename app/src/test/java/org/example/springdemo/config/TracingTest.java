@@ -0,0 +1,187 @@
+package org.example.springdemo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.example.springdemo.model.request.SignupRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.springdemo.config.security.AuthTokenFilter.BEARER_HEADER_PREFIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@SpringBootTest(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "app.jwtStatelessAuthentication=false",
+        "spring.datasource.url=jdbc:h2:mem:tracingdb"
+})
+class TracingTest {
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @BeforeEach
+    void resetSpans() {
+        clearSpans();
+    }
+
+    @Test
+    void shouldTraceSigninQueries() throws Exception {
+        signup("tracedsignin");
+        clearSpans();
+
+        signin("tracedsignin");
+
+        List<SpanData> spans = finishedSpans();
+        SpanData request = span(spans, "http post /api/auth/signin");
+        SpanData controller = span(spans, "auth-controller#authenticate-user");
+        SpanData lookup = span(spans, "load-user-by-username");
+
+        assertEquals(request.getTraceId(), lookup.getTraceId());
+        assertEquals(controller.getSpanId(), lookup.getParentSpanId());
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("query")
+                && span.getParentSpanId().equals(lookup.getSpanId())));
+    }
+
+    @Test
+    void shouldTraceTokenFilterAndUserLookup() throws Exception {
+        signup("tracedfilter");
+        String token = objectMapper.readTree(signin("tracedfilter")).get("token").asText();
+        clearSpans();
+
+        mockMvc.perform(get("/api/content/user").header(HttpHeaders.AUTHORIZATION, BEARER_HEADER_PREFIX + token))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = finishedSpans();
+        SpanData request = span(spans, "http get /api/content/user");
+        SpanData filter = span(spans, "auth-token-filter");
+        SpanData lookup = span(spans, "load-user-by-id");
+
+        assertEquals(request.getTraceId(), filter.getTraceId());
+        assertEquals(filter.getSpanId(), lookup.getParentSpanId());
+        assertEquals(request.getTraceId(), span(spans, "content-controller#user-access").getTraceId());
+    }
+
+    @Test
+    void shouldLeaveNoObservationOnTaskExecutorThreads() throws Exception {
+        signup("tracedthreads");
+        signin("tracedthreads");
+
+        // One task per started thread, each held until all have started, so that every thread is checked.
+        int threads = taskExecutor.getPoolSize();
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Future<Observation>> observations = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            observations.add(taskExecutor.submit(() -> {
+                started.countDown();
+                started.await(5, TimeUnit.SECONDS);
+                return observationRegistry.getCurrentObservation();
+            }));
+        }
+
+        for (Future<Observation> observation : observations) {
+            assertNull(observation.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private void signup(String username) throws Exception {
+        SignupRequest request = SignupRequest.builder().username(username).email(username + "@demo.com")
+                .password(PASSWORD).confirmPassword(PASSWORD).build();
+
+        performAsync(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private String signin(String username) throws Exception {
+        return performAsync(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private void clearSpans() {
+        // Spans are exported in batches, so the ones of earlier requests may still be pending.
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named " + name + " in "
+                        + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
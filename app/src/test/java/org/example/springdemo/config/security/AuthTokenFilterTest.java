@@ -0,0 +1,152 @@
+package org.example.springdemo.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.security.Role;
+import org.example.springdemo.repository.UserRepository;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.example.springdemo.service.security.UserDetailsServiceImpl;
+import org.example.springdemo.service.security.UserVersionRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.example.springdemo.config.security.AuthTokenFilter.BEARER_HEADER_PREFIX;
+import static org.example.springdemo.model.security.Roles.ROLE_MODERATOR;
+import static org.example.springdemo.model.security.Roles.ROLE_USER;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest
+class AuthTokenFilterTest {
+    private static final String PATH_CONTENT_MODERATOR = "/api/content/moderator";
+    private static final String MODERATOR_CONTENT = "Moderator Content.";
+    private static final String API_AUTH_SIGNOUT = "/api/auth/signout";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserVersionRegistry userVersionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutDatabaseLookup() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails(100L, 3L);
+        userVersionRegistry.update(userDetails.id(), userDetails.version());
+
+        mockMvc.perform(get(PATH_CONTENT_MODERATOR)
+                        .header(HttpHeaders.AUTHORIZATION, BEARER_HEADER_PREFIX + jwtUtils.generateToken(userDetails)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(MODERATOR_CONTENT))
+                .andDo(print());
+
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void shouldLoadUserByIdWhenVersionIsUnknown() throws Exception {
+        User user = new User(200L, "moderator", "moderator@demo.com", "password");
+        user.setRoles(Set.of(new Role(ROLE_USER), new Role(ROLE_MODERATOR)));
+        when(userRepository.findWithRolesById(user.getId())).thenReturn(Optional.of(user));
+
+        String token = jwtUtils.generateToken(UserDetailsServiceImpl.toUserDetails(user));
+
+        mockMvc.perform(get(PATH_CONTENT_MODERATOR).header(HttpHeaders.AUTHORIZATION, BEARER_HEADER_PREFIX + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string(MODERATOR_CONTENT))
+                .andDo(print());
+
+        verify(userRepository).findWithRolesById(user.getId());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void shouldRejectTokenOfDeletedUser() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails(300L, 0L);
+        when(userRepository.findWithRolesById(userDetails.id())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get(PATH_CONTENT_MODERATOR)
+                        .header(HttpHeaders.AUTHORIZATION, BEARER_HEADER_PREFIX + jwtUtils.generateToken(userDetails)))
+                .andExpect(status().isUnauthorized())
+                .andDo(print());
+    }
+
+    @Test
+    void shouldRejectTokenAfterSignout() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails(400L, 0L);
+        userVersionRegistry.update(userDetails.id(), userDetails.version());
+        String authorization = BEARER_HEADER_PREFIX + jwtUtils.generateToken(userDetails);
+
+        mockMvc.perform(post(API_AUTH_SIGNOUT).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andDo(print());
+
+        double revoked = rejections("revoked");
+
+        mockMvc.perform(get(PATH_CONTENT_MODERATOR).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isUnauthorized())
+                .andDo(print());
+
+        assertEquals(revoked + 1, rejections("revoked"));
+    }
+
+    @Test
+    void shouldExposeFilterPhasesToPrometheusOnlyWithAuthentication() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails(500L, 1L);
+        userVersionRegistry.update(userDetails.id(), userDetails.version());
+        String authorization = BEARER_HEADER_PREFIX + jwtUtils.generateToken(userDetails);
+
+        mockMvc.perform(get(PATH_CONTENT_MODERATOR).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        String phaseCount = "auth_filter_phase_seconds_count{application=\"spring-demo\",phase=";
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(phaseCount + "\"verify\"")))
+                .andExpect(content().string(containsString(phaseCount + "\"authenticate\"")));
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("auth.filter.rejected").tag("reason", reason).counter().count();
+    }
+
+    private UserDetailsImpl buildUserDetails(long id, long version) {
+        return new UserDetailsImpl(id, "moderator", "moderator@demo.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_MODERATOR")),
+                version);
+    }
+}
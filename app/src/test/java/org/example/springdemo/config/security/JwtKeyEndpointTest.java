@@ -0,0 +1,100 @@
+package org.example.springdemo.config.security;
+
+import org.example.springdemo.annotation.WithMockAdmin;
+import org.example.springdemo.annotation.WithMockUser;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+class JwtKeyEndpointTest {
+    private static final String API_JWT_KEYS = "/actuator/jwtkeys";
+    private static final String DEFAULT_KEY_ID = "default";
+    private static final String ROTATED_KEY_ID = "rotated";
+    private static final String ROTATED_SECRET = "cm90YXRlZC1zZWNyZXQtcm90YXRlZC1zZWNyZXQtcm90YXRlZC1zZWNyZXQ=";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtKeyProvider keyProvider;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @AfterEach
+    void restoreKeys() {
+        keyProvider.activateKey(DEFAULT_KEY_ID);
+
+        if (keyProvider.getKeyIds().contains(ROTATED_KEY_ID)) {
+            keyProvider.removeKey(ROTATED_KEY_ID);
+        }
+    }
+
+    @Test
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get(API_JWT_KEYS))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldBeForbiddenToUsers() throws Exception {
+        mockMvc.perform(post(API_JWT_KEYS + "/" + ROTATED_KEY_ID).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"secret\":\"" + ROTATED_SECRET + "\",\"active\":true}"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(DEFAULT_KEY_ID, keyProvider.getSigningKey().id());
+    }
+
+    @Test
+    @WithMockAdmin
+    void shouldRotateSigningKeyAtRuntime() throws Exception {
+        UserDetailsImpl userDetails = new UserDetailsImpl(1L, "user", "user@demo.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String oldToken = jwtUtils.generateToken(userDetails);
+
+        mockMvc.perform(post(API_JWT_KEYS + "/" + ROTATED_KEY_ID).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"secret\":\"" + ROTATED_SECRET + "\",\"active\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeKeyId").value(ROTATED_KEY_ID))
+                .andExpect(jsonPath("$.keyIds", containsInAnyOrder(DEFAULT_KEY_ID, ROTATED_KEY_ID)));
+
+        assertEquals(ROTATED_KEY_ID, jwtUtils.parseToken(jwtUtils.generateToken(userDetails)).keyId());
+        assertEquals(userDetails.username(), jwtUtils.getUsernameFromToken(oldToken));
+
+        mockMvc.perform(get(API_JWT_KEYS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeKeyId").value(ROTATED_KEY_ID));
+    }
+
+    @Test
+    @WithMockAdmin
+    void shouldNotRemoveActiveKeyOrAcceptWeakSecret() throws Exception {
+        mockMvc.perform(delete(API_JWT_KEYS + "/" + DEFAULT_KEY_ID))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(API_JWT_KEYS + "/" + ROTATED_KEY_ID).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"secret\":\"c2hvcnQ=\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(DEFAULT_KEY_ID, keyProvider.getSigningKey().id());
+    }
+}
@@ -1,16 +1,20 @@
 package org.example.springdemo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.example.springdemo.annotation.WithMockUser;
 import org.example.springdemo.config.security.JwtUtils;
 import org.example.springdemo.model.User;
 import org.example.springdemo.model.request.LoginRequest;
 import org.example.springdemo.model.request.SignupRequest;
 import org.example.springdemo.model.security.Role;
+import org.example.springdemo.repository.UserConflict;
 import org.example.springdemo.repository.UserRepository;
 import org.example.springdemo.repository.security.RoleRepository;
+import org.example.springdemo.service.security.PasswordHashingService;
 import org.example.springdemo.service.security.UserDetailsImpl;
-import org.example.springdemo.service.security.UserDetailsService;
+import org.example.springdemo.service.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -19,26 +23,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static org.example.springdemo.model.security.Roles.*;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -68,10 +84,7 @@ class AuthControllerTest extends AbstractAuthTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private AuthenticationManager authenticationManager;
-
-    @MockBean
-    private UserDetailsService userDetailsService;
+    private UserDetailsServiceImpl userDetailsService;
 
     @MockBean
     private UserRepository userRepository;
@@ -85,18 +98,22 @@ class AuthControllerTest extends AbstractAuthTest {
     @MockBean
     private JwtUtils jwtUtils;
 
+    @SpyBean
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void shouldAuthenticateUser() throws Exception {
         UserDetailsImpl userDetails = buildUserDetails();
 
-        Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, userDetails.getPassword());
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-
         when(userDetailsService.loadUserByUsername(userDetails.getUsername())).thenReturn(userDetails);
+        when(encoder.matches("password", userDetails.getPassword())).thenReturn(true);
 
         when(jwtUtils.generateToken(userDetails)).thenReturn(JWT_TEST_TOKEN_VALUE);
 
-        mockMvc.perform(post(API_AUTH_SIGNIN)
+        performAsync(post(API_AUTH_SIGNIN)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"username\":\"user\",\"password\":\"password\"}"))
                 .andExpect(status().isOk())
@@ -112,19 +129,38 @@ class AuthControllerTest extends AbstractAuthTest {
     public void shouldSuccessfullyRegisterNewUser(Set<String> roles) throws Exception {
         SignupRequest request = buildSignupRequest(roles);
 
-        when(userRepository.existsByUsername(request.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
-        when(roleRepository.findByName(ROLE_USER)).thenReturn(Optional.of(new Role(ROLE_USER)));
-        when(roleRepository.findByName(ROLE_MODERATOR)).thenReturn(Optional.of(new Role(ROLE_MODERATOR)));
-        when(roleRepository.findByName(ROLE_ADMIN)).thenReturn(Optional.of(new Role(ROLE_ADMIN)));
+        when(userRepository.findConflict(request.getUsername(), request.getEmail())).thenReturn(Optional.empty());
+        when(roleRepository.findAll())
+                .thenReturn(List.of(new Role(ROLE_USER), new Role(ROLE_MODERATOR), new Role(ROLE_ADMIN)));
         when(encoder.encode(request.getPassword())).thenReturn(ENCODED_PASSWORD);
 
-        mockMvc.perform(post(API_AUTH_SIGNUP).contentType(MediaType.APPLICATION_JSON)
+        performAsync(post(API_AUTH_SIGNUP).contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value(REGISTERED_USER_MESSAGE));
 
         verify(userRepository).save(any(User.class));
+        verify(roleRepository, never()).findByName(any());
+    }
+
+    @Test
+    public void shouldPersistSignupOutsideHashingPool() throws Exception {
+        SignupRequest request = buildSignupRequest(Set.of("user"));
+        AtomicReference<String> savingThread = new AtomicReference<>();
+
+        when(userRepository.findConflict(request.getUsername(), request.getEmail())).thenReturn(Optional.empty());
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(ROLE_USER)));
+        when(encoder.encode(request.getPassword())).thenReturn(ENCODED_PASSWORD);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            savingThread.set(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        performAsync(post(API_AUTH_SIGNUP).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertFalse(savingThread.get().startsWith("password-hashing-"), savingThread.get());
     }
 
     @Test
@@ -132,18 +168,19 @@ class AuthControllerTest extends AbstractAuthTest {
         SignupRequest request = buildSignupRequest(Set.of("user"));
         request.setRoles(null);
 
-        when(userRepository.existsByUsername(request.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
+        when(userRepository.findConflict(request.getUsername(), request.getEmail())).thenReturn(Optional.empty());
         when(encoder.encode(request.getPassword())).thenReturn(ENCODED_PASSWORD);
-        when(roleRepository.findByName(ROLE_USER)).thenReturn(Optional.of(new Role(ROLE_USER)));
+        when(roleRepository.findAll())
+                .thenReturn(List.of(new Role(ROLE_USER), new Role(ROLE_MODERATOR), new Role(ROLE_ADMIN)));
 
-        mockMvc.perform(post(API_AUTH_SIGNUP).contentType(MediaType.APPLICATION_JSON)
+        performAsync(post(API_AUTH_SIGNUP).contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value(REGISTERED_USER_MESSAGE))
                 .andDo(print());
 
         verify(userRepository).save(any(User.class));
+        verify(roleRepository, never()).findByName(any());
     }
 
     @Test
@@ -350,9 +387,10 @@ class AuthControllerTest extends AbstractAuthTest {
     @Test
     public void shouldFailRegisterWithExistedUsername() throws Exception {
         SignupRequest request = buildSignupRequest(Set.of("user"));
-        when(userRepository.existsByUsername(request.getUsername())).thenReturn(true);
+        when(userRepository.findConflict(request.getUsername(), request.getEmail()))
+                .thenReturn(Optional.of(UserConflict.USERNAME));
 
-        mockMvc.perform(post(API_AUTH_SIGNUP)
+        performAsync(post(API_AUTH_SIGNUP)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
@@ -364,10 +402,10 @@ class AuthControllerTest extends AbstractAuthTest {
     @Test
     public void shouldFailRegisterWithExistedEmail() throws Exception {
         SignupRequest request = buildSignupRequest(Set.of("user"));
-        when(userRepository.existsByUsername(request.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(request.getEmail())).thenReturn(true);
+        when(userRepository.findConflict(request.getUsername(), request.getEmail()))
+                .thenReturn(Optional.of(UserConflict.EMAIL));
 
-        mockMvc.perform(post(API_AUTH_SIGNUP)
+        performAsync(post(API_AUTH_SIGNUP)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
@@ -376,6 +414,136 @@ class AuthControllerTest extends AbstractAuthTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    public void shouldTranslateConstraintViolationOfConcurrentSignup() throws Exception {
+        SignupRequest request = buildSignupRequest(Set.of("user"));
+        when(userRepository.findConflict(request.getUsername(), request.getEmail())).thenReturn(Optional.empty());
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(ROLE_USER)));
+        when(encoder.encode(request.getPassword())).thenReturn(ENCODED_PASSWORD);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_KEY ON PUBLIC.USERS(EMAIL_KEY)\""));
+
+        performAsync(post(API_AUTH_SIGNUP)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ERROR_EMAIL_IS_ALREADY_IN_USE));
+    }
+
+    @Test
+    void shouldRehashOutdatedPasswordOutsideHashingPool() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails();
+        AtomicReference<String> loadingThread = new AtomicReference<>();
+        AtomicReference<String> updatingThread = new AtomicReference<>();
+
+        when(userDetailsService.loadUserByUsername(userDetails.getUsername())).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return userDetails;
+        });
+        when(encoder.matches("password", userDetails.getPassword())).thenReturn(true);
+        when(encoder.upgradeEncoding(userDetails.getPassword())).thenReturn(true);
+        when(encoder.encode("password")).thenReturn(ENCODED_PASSWORD);
+        when(userDetailsService.updatePassword(userDetails, ENCODED_PASSWORD)).thenAnswer(invocation -> {
+            updatingThread.set(Thread.currentThread().getName());
+            return userDetails;
+        });
+        when(jwtUtils.generateToken(userDetails)).thenReturn(JWT_TEST_TOKEN_VALUE);
+
+        performAsync(post(API_AUTH_SIGNIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value(JWT_TEST_TOKEN_VALUE));
+
+        assertFalse(loadingThread.get().startsWith("password-hashing-"), loadingThread.get());
+        assertFalse(updatingThread.get().startsWith("password-hashing-"), updatingThread.get());
+    }
+
+    @Test
+    void shouldRejectInvalidCredentials() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails();
+
+        when(userDetailsService.loadUserByUsername(userDetails.getUsername())).thenReturn(userDetails);
+        double badCredentials = signins("bad_credentials");
+
+        performAsync(post(API_AUTH_SIGNIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Bad credentials"));
+
+        assertEquals(badCredentials + 1, signins("bad_credentials"));
+    }
+
+    @Test
+    void shouldRejectUnknownUserAfterComparingPassword() throws Exception {
+        when(userDetailsService.loadUserByUsername("unknown")).thenThrow(new UsernameNotFoundException("unknown"));
+        when(encoder.encode(any())).thenReturn(ENCODED_PASSWORD);
+
+        performAsync(post(API_AUTH_SIGNIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"unknown\",\"password\":\"password\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Bad credentials"));
+
+        verify(passwordHashingService).matches(eq("password"), any());
+    }
+
+    /**
+     * The limiter is disabled for the other tests, which share one cached context and one client address. This
+     * context is separate, so its beans are injected here rather than taken from the enclosing instance.
+     */
+    @Nested
+    @TestPropertySource(properties = "app.loginRateLimitEnabled=true")
+    class WithLoginRateLimit {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserDetailsServiceImpl userDetailsService;
+
+        @Test
+        void shouldRateLimitRepeatedSignins() throws Exception {
+            when(userDetailsService.loadUserByUsername("attacker"))
+                    .thenThrow(new UsernameNotFoundException("attacker"));
+            String content = "{\"username\":\"attacker\",\"password\":\"guess\"}";
+
+            int status;
+            int attempts = 0;
+
+            do {
+                MvcResult result = mockMvc.perform(post(API_AUTH_SIGNIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content)).andReturn();
+                status = result.getRequest().isAsyncStarted()
+                        ? mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getStatus()
+                        : result.getResponse().getStatus();
+            } while (status == 401 && ++attempts < 100);
+
+            assertEquals(429, status);
+            verify(userDetailsService, times(attempts)).loadUserByUsername("attacker");
+        }
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenHashingPoolIsFull() throws Exception {
+        UserDetailsImpl userDetails = buildUserDetails();
+
+        when(userDetailsService.loadUserByUsername(userDetails.getUsername())).thenReturn(userDetails);
+        doThrow(new RejectedExecutionException()).when(passwordHashingService).matches(any(), any());
+        double busy = signins("busy");
+
+        mockMvc.perform(post(API_AUTH_SIGNIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user\",\"password\":\"password\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        verify(encoder, never()).matches(any(), any());
+        assertEquals(busy + 1, signins("busy"));
+    }
+
     @Test
     public void shouldNotLogoutWithoutUser() throws Exception {
         mockMvc.perform(post(API_AUTH_SIGNOUT).contentType(MediaType.APPLICATION_JSON))
@@ -392,6 +560,16 @@ class AuthControllerTest extends AbstractAuthTest {
                 .andExpect(jsonPath("$.message").value(SIGN_OUT_MESSAGE));
     }
 
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private double signins(String outcome) {
+        return meterRegistry.get("auth.signin").tag("outcome", outcome).counter().count();
+    }
+
     private UserDetailsImpl buildUserDetails() {
         return new UserDetailsImpl(1L, "user", "user@demo.com", "password",
                 List.of(new SimpleGrantedAuthority("USER")));
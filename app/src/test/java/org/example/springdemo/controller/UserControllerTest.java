@@ -3,6 +3,10 @@ package org.example.springdemo.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.springdemo.annotation.WithMockAdmin;
 import org.example.springdemo.model.User;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserImportResponse;
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.example.springdemo.service.UserImportService;
 import org.example.springdemo.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -15,18 +19,28 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +49,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class UserControllerTest extends AbstractAuthTest {
     private static final String API_USERS_ID = "/api/users/{id}";
     public static final String API_USERS = "/api/users";
+    private static final String API_USERS_STREAM = "/api/users/stream";
+    private static final String API_USERS_IMPORT = "/api/users/import";
 
     @Autowired
     private MockMvc mockMvc;
@@ -42,6 +58,9 @@ class UserControllerTest extends AbstractAuthTest {
     @MockBean
     UserService userService;
 
+    @MockBean
+    UserImportService userImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -103,24 +122,64 @@ class UserControllerTest extends AbstractAuthTest {
     @ParameterizedTest
     @MethodSource("withMockModeratorAdmin")
     void shouldReturnListOfUsers(String username, String[] roles) throws Exception {
-        List<User> users = List.of(new User(1, "UserName1", "email@email.com", "password"),
-                new User(2, "UserName2", "email2@email.com", "password"),
-                new User(3, "UserName3", "email3@email.com", "password"));
+        List<UserSummaryResponse> users = List.of(new UserSummaryResponse(1L, "UserName1", "email@email.com", List.of("ROLE_USER")),
+                new UserSummaryResponse(2L, "UserName2", "email2@email.com", List.of("ROLE_USER")),
+                new UserSummaryResponse(3L, "UserName3", "email3@email.com", List.of("ROLE_USER")));
 
-        when(userService.findAll()).thenReturn(users);
+        when(userService.findPage(0, 50)).thenReturn(users);
 
         mockMvc.perform(get(API_USERS).with(user(username).roles(roles)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(users.size()))
+                .andExpect(jsonPath("$[0].roles[0]").value("ROLE_USER"))
+                .andExpect(jsonPath("$[0].password").doesNotExist())
+                .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER))
                 .andDo(print());
     }
 
+    @Test
+    @WithMockAdmin
+    void shouldReturnNextCursorForFullPage() throws Exception {
+        List<UserSummaryResponse> users = List.of(new UserSummaryResponse(4L, "UserName4", "email4@email.com", List.of("ROLE_USER")),
+                new UserSummaryResponse(7L, "UserName7", "email7@email.com", List.of("ROLE_USER")));
+
+        when(userService.findPage(3, 2)).thenReturn(users);
+
+        mockMvc.perform(get(API_USERS).param("cursor", "3").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(users.size()))
+                .andExpect(header().string(UserController.NEXT_CURSOR_HEADER, "7"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockAdmin
+    void shouldStreamUsersAsNdjson() throws Exception {
+        List<UserSummaryResponse> users = List.of(new UserSummaryResponse(1L, "UserName1", "email@email.com", List.of("ROLE_USER")),
+                new UserSummaryResponse(2L, "UserName2", "email2@email.com", List.of("ROLE_USER")));
+
+        doAnswer(invocation -> {
+            Consumer<UserSummaryResponse> consumer = invocation.getArgument(0);
+            users.forEach(consumer);
+            return null;
+        }).when(userService).streamAll(any());
+
+        String body = mockMvc.perform(get(API_USERS_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(users.size(), lines.size());
+        assertEquals(users.get(1).username(), objectMapper.readTree(lines.get(1)).get("username").asText());
+    }
+
     @Test
     @WithMockAdmin
     void shouldReturnInternalServerError() throws Exception {
         long id = 1L;
 
-        when(userService.findAll()).thenThrow(new RuntimeException("Unable to find all users"));
+        when(userService.findPage(anyLong(), anyInt())).thenThrow(new RuntimeException("Unable to find all users"));
         mockMvc.perform(get(API_USERS)).andExpect(status().isInternalServerError()).andDo(print());
 
         doThrow(new RuntimeException("Unable to delete user")).when(userService).deleteById(anyLong());
@@ -133,8 +192,8 @@ class UserControllerTest extends AbstractAuthTest {
     @ParameterizedTest
     @EmptySource
     @WithMockAdmin
-    void shouldReturnNoContentForEmptyUsersList(List<User> users) throws Exception {
-        when(userService.findAll()).thenReturn(users);
+    void shouldReturnNoContentForEmptyUsersList(List<UserSummaryResponse> users) throws Exception {
+        when(userService.findPage(anyLong(), anyInt())).thenReturn(users);
 
         mockMvc.perform(get(API_USERS)).andExpect(status().isNoContent()).andDo(print());
     }
@@ -208,4 +267,59 @@ class UserControllerTest extends AbstractAuthTest {
         doNothing().when(userService).deleteAll();
         mockMvc.perform(delete(API_USERS)).andExpect(status().isNoContent()).andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockAdmin
+    void shouldImportUsersFromJson() throws Exception {
+        String body = """
+                [{"username": "user1", "email": "user1@demo.com", "password": "Password1!", "roles": ["admin"]},
+                 {"username": "user2", "email": "user2@demo.com", "password": "Password1!"}]""";
+
+        when(userImportService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<SignupRequest> iterator = invocation.getArgument(0);
+            List<String> usernames = new ArrayList<>();
+            iterator.forEachRemaining(request -> usernames.add(request.getUsername()));
+            assertEquals(List.of("user1", "user2"), usernames);
+            return new UserImportResponse(2, List.of());
+        });
+
+        mockMvc.perform(post(API_USERS_IMPORT).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockAdmin
+    void shouldImportUsersFromCsv() throws Exception {
+        String body = """
+                username,email,password,roles
+                user1,user1@demo.com,"Pass,word1!",admin;moderator
+                user2,user2@demo.com,Password1!,
+                """;
+
+        when(userImportService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<SignupRequest> iterator = invocation.getArgument(0);
+            SignupRequest first = iterator.next();
+            assertEquals("Pass,word1!", first.getPassword());
+            assertEquals(Set.of("admin", "moderator"), first.getRoles());
+            assertEquals("user2", iterator.next().getUsername());
+            return new UserImportResponse(1, List.of(new UserImportResponse.Rejection(2, "user2", "Error")));
+        });
+
+        mockMvc.perform(post(API_USERS_IMPORT).contentType(UserController.TEXT_CSV_VALUE).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected[0].row").value(2))
+                .andDo(print());
+    }
+
+    @ParameterizedTest
+    @MethodSource("withMockUserModerator")
+    void shouldReturnForbiddenToImportUsers(String username, String[] roles) throws Exception {
+        mockMvc.perform(post(API_USERS_IMPORT).with(user(username).roles(roles))
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isForbidden())
+                .andDo(print());
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.springdemo.repository;
+
+import org.example.springdemo.model.security.Roles;
+import org.example.springdemo.repository.security.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hibernate validates the entity mappings against the schema built by the Flyway migrations, which the application
+ * itself skips at startup.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+class SchemaMigrationTest {
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void shouldMatchEntitiesAndSeedRoles() {
+        assertTrue(Arrays.stream(Roles.values()).allMatch(role -> roleRepository.findByName(role).isPresent()));
+    }
+}
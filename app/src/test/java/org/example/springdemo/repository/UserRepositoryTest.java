@@ -0,0 +1,126 @@
+package org.example.springdemo.repository;
+
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.example.springdemo.model.security.Role;
+import org.example.springdemo.model.security.Roles;
+import org.example.springdemo.repository.security.RoleRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepositoryTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User admin;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User("admin", "admin@demo.com", "password");
+        admin.setRoles(Set.of(roleRepository.findByName(Roles.ROLE_ADMIN).orElseThrow(),
+                roleRepository.findByName(Roles.ROLE_USER).orElseThrow()));
+        admin = userRepository.save(admin);
+
+        user = userRepository.save(new User("user", "user@demo.com", "password"));
+    }
+
+    @Test
+    void shouldReturnSummariesWithAggregatedRoles() {
+        List<UserSummaryResponse> summaries = userRepository.findSummariesAfter(0, Limit.of(10));
+
+        assertEquals(2, summaries.size());
+        assertEquals(new UserSummaryResponse(admin.getId(), "admin", "admin@demo.com",
+                List.of("ROLE_ADMIN", "ROLE_USER")), summaries.get(0));
+        assertEquals(new UserSummaryResponse(user.getId(), "user", "user@demo.com", List.of()), summaries.get(1));
+    }
+
+    @Test
+    void shouldPageSummariesAfterCursor() {
+        List<UserSummaryResponse> summaries = userRepository.findSummariesAfter(admin.getId(), Limit.of(1));
+
+        assertEquals(1, summaries.size());
+        assertEquals(user.getId(), summaries.get(0).id());
+        assertTrue(userRepository.findSummariesAfter(user.getId(), Limit.of(1)).isEmpty());
+    }
+
+    @Test
+    void shouldStreamSummariesInIdOrder() {
+        try (Stream<UserSummaryResponse> summaries = userRepository.streamSummaries()) {
+            assertEquals(List.of(admin.getId(), user.getId()), summaries.map(UserSummaryResponse::id).toList());
+        }
+    }
+
+    @Test
+    void shouldFindConflictingFieldIgnoringEmailCase() {
+        userRepository.flush();
+
+        assertEquals(Optional.of(UserConflict.USERNAME), userRepository.findConflict("user", "user@demo.com"));
+        assertEquals(Optional.of(UserConflict.USERNAME), userRepository.findConflict("user", "new@demo.com"));
+        assertEquals(Optional.of(UserConflict.EMAIL), userRepository.findConflict("new", "USER@demo.com"));
+        assertEquals(Optional.empty(), userRepository.findConflict("User", "new@demo.com"));
+    }
+
+    @Test
+    void shouldTranslateUniqueConstraintViolations() {
+        DataIntegrityViolationException email = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(new User("new", "User@Demo.com", "password")));
+        assertEquals(Optional.of(UserConflict.EMAIL), UserConflict.of(email));
+    }
+
+    @Test
+    void shouldLoadUserWithRolesInOneQuery() {
+        Statistics statistics = clearAndGetStatistics();
+        assertEquals(2, userRepository.findByUsername("admin").orElseThrow().getRoles().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics = clearAndGetStatistics();
+        assertEquals(2, userRepository.findWithRolesById(admin.getId()).orElseThrow().getRoles().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldCacheRolesInSecondLevelCache() {
+        Integer id = roleRepository.findByName(Roles.ROLE_ADMIN).orElseThrow().getId();
+        Statistics statistics = clearAndGetStatistics();
+
+        assertEquals(Roles.ROLE_ADMIN, entityManager.find(Role.class, id).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        return statistics;
+    }
+}
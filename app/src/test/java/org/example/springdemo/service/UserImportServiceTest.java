@@ -0,0 +1,110 @@
+package org.example.springdemo.service;
+
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserImportResponse;
+import org.example.springdemo.model.security.Role;
+import org.example.springdemo.model.security.Roles;
+import org.example.springdemo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest(properties = "app.userImportChunkSize=2")
+class UserImportServiceTest {
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    void shouldImportValidUsersWithRoles() {
+        UserImportResponse response = userImportService.importUsers(List.of(
+                request("admin", "admin@demo.com", Set.of("admin", "user")),
+                request("moderator", "moderator@demo.com", Set.of("moderator")),
+                request("user", "user@demo.com", null)).iterator());
+
+        assertEquals(3, response.imported());
+        assertTrue(response.rejected().isEmpty());
+
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        assertEquals(Set.of(Roles.ROLE_ADMIN, Roles.ROLE_USER),
+                admin.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+        assertTrue(admin.getPassword().startsWith("{bcrypt}$2"));
+        assertEquals(Set.of(Roles.ROLE_USER), userRepository.findByUsername("user").orElseThrow().getRoles()
+                .stream().map(Role::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldRejectInvalidAndDuplicatedUsers() {
+        userImportService.importUsers(List.of(request("existing", "existing@demo.com", null)).iterator());
+
+        UserImportResponse response = userImportService.importUsers(List.of(
+                request("existing", "other@demo.com", null),
+                request("first", "existing@demo.com", null),
+                request("second", "second@demo.com", null),
+                request("second", "third@demo.com", null),
+                request("x", "not-an-email", null),
+                request("third", "third@demo.com", null)).iterator());
+
+        assertEquals(2, response.imported());
+        assertEquals(List.of(1L, 2L, 4L, 5L),
+                response.rejected().stream().map(UserImportResponse.Rejection::row).toList());
+        assertEquals("Error: Username is already taken!", response.rejected().get(0).message());
+        assertEquals("Error: Email is already in use!", response.rejected().get(1).message());
+        assertEquals("Error: Username is duplicated in the import!", response.rejected().get(2).message());
+        assertEquals(3, userRepository.count());
+    }
+
+    @Test
+    void shouldRejectOnlyRowsTakenConcurrentlyAfterTheCheck() {
+        userImportService.importUsers(List.of(request("taken", "taken@demo.com", null)).iterator());
+
+        // As if a concurrent signup took the names between the existence check and the insert.
+        doReturn(Set.of()).when(userRepository).findExistingUsernames(any());
+        doReturn(Set.of()).when(userRepository).findExistingEmailKeys(any());
+
+        UserImportResponse response = userImportService.importUsers(List.of(
+                request("fresh", "fresh@demo.com", null),
+                request("taken", "other@demo.com", null),
+                request("mail", "TAKEN@demo.com", null),
+                request("last", "last@demo.com", null)).iterator());
+
+        assertEquals(2, response.imported());
+        assertEquals(List.of(2L, 3L), response.rejected().stream().map(UserImportResponse.Rejection::row).toList());
+        assertEquals("Error: Username is already taken!", response.rejected().get(0).message());
+        assertEquals("Error: Email is already in use!", response.rejected().get(1).message());
+        assertTrue(userRepository.findByUsername("fresh").isPresent());
+        assertTrue(userRepository.findByUsername("last").isPresent());
+    }
+
+    private static SignupRequest request(String username, String email, Set<String> roles) {
+        return SignupRequest.builder()
+                .username(username)
+                .email(email)
+                .password(PASSWORD)
+                .roles(roles)
+                .build();
+    }
+}
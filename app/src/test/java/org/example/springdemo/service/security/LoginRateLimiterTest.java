@@ -0,0 +1,67 @@
+package org.example.springdemo.service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTest {
+    private static final String ADDRESS = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 6 per minute (one token every 10 seconds) with bursts of 3 per username, 30 per minute and 10 per address.
+        loginRateLimiter = new LoginRateLimiter(meterRegistry, true, new LoginRateLimiter.Limit(6, 3),
+                new LoginRateLimiter.Limit(30, 10), 1000, clock::get);
+    }
+
+    @Test
+    void shouldLimitUsernameAfterBurst() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(loginRateLimiter.tryAcquire("user", ADDRESS).isZero());
+        }
+
+        assertEquals(Duration.ofSeconds(10), loginRateLimiter.tryAcquire("USER", ADDRESS));
+        assertTrue(loginRateLimiter.tryAcquire("other", ADDRESS).isZero());
+        assertEquals(1.0, meterRegistry.get("auth.signin.rate.limited").tag("key", "username").counter().count());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(loginRateLimiter.tryAcquire("user", ADDRESS).isZero());
+        assertFalse(loginRateLimiter.tryAcquire("user", ADDRESS).isZero());
+    }
+
+    @Test
+    void shouldLimitAddressAcrossUsernames() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(loginRateLimiter.tryAcquire("user" + i, ADDRESS).isZero());
+        }
+
+        assertFalse(loginRateLimiter.tryAcquire("user10", ADDRESS).isZero());
+        assertTrue(loginRateLimiter.tryAcquire("user10", "10.0.0.2").isZero());
+        assertEquals(1.0, meterRegistry.get("auth.signin.rate.limited").tag("key", "address").counter().count());
+    }
+
+    @Test
+    void shouldAllowEverythingWhenDisabled() {
+        LoginRateLimiter disabled = new LoginRateLimiter(meterRegistry, false, new LoginRateLimiter.Limit(1, 1),
+                new LoginRateLimiter.Limit(1, 1), 1000, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(disabled.tryAcquire("user", ADDRESS).isZero());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.springdemo.service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingService = new PasswordHashingService(encoder, new SimpleMeterRegistry(), 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void shouldEncodeOnHashingPool() throws Exception {
+        String encoded = passwordHashingService.encode("password").get(5, TimeUnit.SECONDS);
+
+        assertTrue(encoder.matches("password", encoded));
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> blocking = passwordHashingService.submit(() -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = passwordHashingService.encode("password");
+
+        assertThrows(RejectedExecutionException.class, () -> passwordHashingService.encode("password"));
+
+        release.countDown();
+        assertTrue(blocking.get(5, TimeUnit.SECONDS));
+        assertTrue(encoder.matches("password", queued.get(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void shouldLeaveNoObservationOnHashingThread() throws Exception {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(context -> true);
+        Observation observation = Observation.start("signin", observationRegistry);
+
+        try (Observation.Scope scope = observation.openScope()) {
+            assertSame(observation, passwordHashingService.submit(observationRegistry::getCurrentObservation)
+                    .get(5, TimeUnit.SECONDS));
+        } finally {
+            observation.stop();
+        }
+
+        assertNull(passwordHashingService.submit(observationRegistry::getCurrentObservation).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldEncodeBatchLargerThanQueueWithoutRejection() {
+        List<String> rawPasswords = List.of("first", "second", "third", "fourth");
+
+        List<String> encoded = passwordHashingService.encodeAll(rawPasswords);
+
+        assertEquals(rawPasswords.size(), encoded.size());
+
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            assertTrue(encoder.matches(rawPasswords.get(i), encoded.get(i)));
+        }
+    }
+}
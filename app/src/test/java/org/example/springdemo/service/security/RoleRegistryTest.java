@@ -0,0 +1,63 @@
+package org.example.springdemo.service.security;
+
+import org.example.springdemo.model.security.Role;
+import org.example.springdemo.repository.security.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.example.springdemo.model.security.Roles.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoleRegistryTest {
+    private final Role userRole = new Role(ROLE_USER);
+    private final Role moderatorRole = new Role(ROLE_MODERATOR);
+    private final Role adminRole = new Role(ROLE_ADMIN);
+
+    private RoleRepository roleRepository;
+
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        roleRegistry = new RoleRegistry(roleRepository);
+    }
+
+    @Test
+    void shouldResolveRolesWithoutQueryingAgain() {
+        when(roleRepository.findAll()).thenReturn(List.of(userRole, moderatorRole, adminRole));
+        roleRegistry.refresh();
+
+        assertEquals(Set.of(userRole), roleRegistry.resolve(null));
+        assertEquals(Set.of(adminRole, userRole), roleRegistry.resolve(Set.of("admin", "unknown")));
+        assertSame(moderatorRole, roleRegistry.get(ROLE_MODERATOR));
+
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldReloadOnMiss() {
+        when(roleRepository.findAll()).thenReturn(List.of(userRole));
+        roleRegistry.refresh();
+        when(roleRepository.findAll()).thenReturn(List.of(userRole, adminRole));
+
+        assertSame(adminRole, roleRegistry.get(ROLE_ADMIN));
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldFailForMissingRole() {
+        when(roleRepository.findAll()).thenReturn(List.of(userRole));
+
+        assertThrows(RuntimeException.class, () -> roleRegistry.get(ROLE_ADMIN));
+    }
+}
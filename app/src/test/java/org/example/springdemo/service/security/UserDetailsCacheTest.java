@@ -0,0 +1,74 @@
+package org.example.springdemo.service.security;
+
+import org.example.springdemo.model.User;
+import org.example.springdemo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class UserDetailsCacheTest {
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(new User("cacheduser", "cacheduser@demo.com", "password"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldKeepEntryUntilPasswordChangeCommits() {
+        UserDetailsImpl cached = userDetailsService.loadUserById(user.getId());
+        AtomicInteger loads = new AtomicInteger();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userDetailsService.updatePassword(cached, "rehashed");
+
+            // A load here could only read the old row, so the entry must not have been dropped for it yet.
+            assertEquals(cached, userDetailsCache.getById(user.getId(), id -> {
+                loads.incrementAndGet();
+                return cached;
+            }));
+            assertEquals(0, loads.get());
+        });
+
+        assertEquals("rehashed", userDetailsService.loadUserById(user.getId()).getPassword());
+    }
+
+    @Test
+    void shouldKeepEntryWhenPasswordChangeRollsBack() {
+        UserDetailsImpl cached = userDetailsService.loadUserById(user.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userDetailsService.updatePassword(cached, "rehashed");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(cached, userDetailsCache.getById(user.getId(), id -> {
+            throw new AssertionError("Entry dropped for a change that rolled back");
+        }));
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.springdemo.service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springdemo.model.User;
+import org.example.springdemo.repository.UserRepository;
+import org.example.springdemo.service.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTest {
+    private static final long USER_ID = 1L;
+    private static final String USERNAME = "user";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserRepository userRepository;
+
+    private UserDetailsCache userDetailsCache;
+
+    private UserVersionRegistry userVersionRegistry;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(meterRegistry, 100, 60_000);
+        userVersionRegistry = new UserVersionRegistry(100, 60_000);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        userDetailsService = new UserDetailsServiceImpl(userRepository, userVersionRegistry, userDetailsCache,
+                eventPublisher);
+
+        User user = new User(USER_ID, USERNAME, "user@demo.com", "password");
+        when(userRepository.findWithRolesById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void shouldLoadUserFromDatabaseOnce() {
+        userDetailsService.loadUserById(USER_ID);
+        userDetailsService.loadUserByUsername(USERNAME);
+        userDetailsService.loadUserById(USER_ID);
+        userDetailsService.loadUserByUsername(USERNAME);
+
+        verify(userRepository, times(1)).findWithRolesById(USER_ID);
+        verify(userRepository, times(1)).findByUsername(USERNAME);
+        assertTrue(userVersionRegistry.isCurrent(USER_ID, 0L));
+    }
+
+    @Test
+    void shouldReloadUserAfterChange() {
+        userDetailsService.loadUserById(USER_ID);
+        userDetailsService.loadUserByUsername(USERNAME);
+
+        User renamed = new User(USER_ID, "renamed", "user@demo.com", "password");
+        renamed.setVersion(1);
+        when(userRepository.findWithRolesById(USER_ID)).thenReturn(Optional.of(renamed));
+        UserChangedEvent event = UserChangedEvent.saved(renamed);
+        userDetailsCache.onUserChanged(event);
+        userVersionRegistry.onUserChanged(event);
+
+        assertEquals("renamed", userDetailsService.loadUserById(USER_ID).username());
+        userDetailsService.loadUserByUsername(USERNAME);
+
+        verify(userRepository, times(2)).findWithRolesById(USER_ID);
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+        assertTrue(userVersionRegistry.isCurrent(USER_ID, 1L));
+    }
+
+    @Test
+    void shouldNotCacheUserChangedWhileLoading() {
+        User user = new User(USER_ID, USERNAME, "user@demo.com", "password");
+        when(userRepository.findByUsername(USERNAME)).thenAnswer(invocation -> {
+            userDetailsCache.onUserChanged(UserChangedEvent.saved(user));
+            return Optional.of(user);
+        });
+
+        userDetailsService.loadUserByUsername(USERNAME);
+        userDetailsService.loadUserByUsername(USERNAME);
+
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void shouldReloadAllUsersAfterDeleteAll() {
+        userDetailsService.loadUserById(USER_ID);
+
+        userDetailsCache.onUserChanged(UserChangedEvent.allDeleted());
+        userDetailsService.loadUserById(USER_ID);
+
+        verify(userRepository, times(2)).findWithRolesById(USER_ID);
+    }
+
+    @Test
+    void shouldNotCacheMissingUser() {
+        when(userRepository.findWithRolesById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserById(2L));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserById(2L));
+
+        verify(userRepository, times(2)).findWithRolesById(2L);
+    }
+
+    @Test
+    void shouldLeaveNoEntryAndLogNothingForMissingUser() {
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger caffeineLogger = Logger.getLogger("com.github.benmanes.caffeine");
+        caffeineLogger.addHandler(handler);
+
+        try {
+            when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+
+            assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("unknown"));
+        } finally {
+            caffeineLogger.removeHandler(handler);
+        }
+
+        assertEquals(List.of(), records);
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "user.details.username").gauge().value());
+    }
+
+    @Test
+    void shouldPersistRehashedPassword() {
+        User rehashed = new User(USER_ID, USERNAME, "user@demo.com", "{bcrypt}rehashed");
+        rehashed.setVersion(1);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(rehashed);
+
+        UserDetails updated = userDetailsService.updatePassword(userDetailsService.loadUserById(USER_ID),
+                "{bcrypt}rehashed");
+
+        assertEquals("{bcrypt}rehashed", updated.getPassword());
+        assertTrue(userVersionRegistry.isCurrent(USER_ID, 1L));
+        verify(eventPublisher).publishEvent(UserChangedEvent.saved(rehashed));
+    }
+}
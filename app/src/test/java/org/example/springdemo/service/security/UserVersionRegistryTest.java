@@ -0,0 +1,46 @@
+package org.example.springdemo.service.security;
+
+import org.example.springdemo.service.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserVersionRegistryTest {
+    private static final long EXPIRATION_MS = 60_000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final UserVersionRegistry userVersionRegistry = new UserVersionRegistry(100, EXPIRATION_MS, clock::get);
+
+    @Test
+    void shouldKeepHighestVersion() {
+        userVersionRegistry.update(1L, 2L);
+        userVersionRegistry.update(1L, 1L);
+
+        assertTrue(userVersionRegistry.isCurrent(1L, 2L));
+        assertFalse(userVersionRegistry.isCurrent(1L, 1L));
+    }
+
+    @Test
+    void shouldNotTrustDeletedUsers() {
+        userVersionRegistry.update(1L, 2L);
+        userVersionRegistry.onUserChanged(UserChangedEvent.deleted(1L));
+
+        assertFalse(userVersionRegistry.isCurrent(1L, 2L));
+    }
+
+    @Test
+    void shouldForgetVersionsAfterExpiration() {
+        userVersionRegistry.update(1L, 2L);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(EXPIRATION_MS - 1));
+        assertTrue(userVersionRegistry.isCurrent(1L, 2L));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertFalse(userVersionRegistry.isCurrent(1L, 2L));
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.springdemo.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.springdemo.config.security.AuthTokenFilter;
+import org.example.springdemo.config.security.JwtUtils;
+import org.example.springdemo.config.security.TokenRevocationStore;
+import org.example.springdemo.service.security.AuthMetrics;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.example.springdemo.service.security.UserDetailsServiceImpl;
+import org.example.springdemo.service.security.UserVersionRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The whole per-request cost of {@link AuthTokenFilter} for an authenticated request: reading the header,
+ * parsing the token, the revocation check and populating the security context. The chain is a mock, so nothing
+ * downstream of the filter is measured. With {@code statelessAuthentication} disabled the user is loaded through
+ * a mocked {@link UserDetailsServiceImpl}, which isolates the filter from the database and the user cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+    private static final String REQUEST_PATH = "/api/test/user";
+
+    @Param({"true", "false"})
+    boolean statelessAuthentication;
+
+    private AuthTokenFilter filter;
+
+    private FilterChain filterChain;
+
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = SecurityFixtures.jwtUtils(true);
+        UserDetailsImpl userDetails = SecurityFixtures.userDetails();
+
+        UserVersionRegistry userVersionRegistry = new UserVersionRegistry(100_000, 600_000);
+        userVersionRegistry.update(userDetails.id(), userDetails.version());
+
+        UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(userDetailsService.loadUserById(userDetails.id())).thenReturn(userDetails);
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "userVersionRegistry", userVersionRegistry);
+        ReflectionTestUtils.setField(filter, "tokenRevocationStore", new TokenRevocationStore(true, 10_000));
+        ReflectionTestUtils.setField(filter, "statelessAuthentication", statelessAuthentication);
+        ReflectionTestUtils.setField(filter, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(filter, "observationRegistry", ObservationRegistry.NOOP);
+
+        filterChain = mock(FilterChain.class);
+        authorization = AuthTokenFilter.BEARER_HEADER_PREFIX + jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        // A fresh request per call: OncePerRequestFilter marks the request as filtered.
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", REQUEST_PATH);
+        request.setServletPath(REQUEST_PATH);
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.springdemo.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Takes the usual JMH command line and always adds the gc profiler, so
+ * that every run reports the allocation rate per operation next to the throughput.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+
+        boolean gcProfiled = commandLine.getProfilers().stream()
+                .anyMatch(profiler -> "gc".equals(profiler.getKlass())
+                        || GCProfiler.class.getName().equals(profiler.getKlass()));
+
+        if (!gcProfiled) {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        Options options = builder.build();
+        Runner runner = new Runner(options);
+
+        if (commandLine.shouldList()) {
+            runner.list();
+            return;
+        }
+
+        runner.run();
+    }
+}
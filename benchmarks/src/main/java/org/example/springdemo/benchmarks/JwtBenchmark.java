@@ -0,0 +1,51 @@
+package org.example.springdemo.benchmarks;
+
+import org.example.springdemo.config.security.JwtUtils;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verification of access tokens. With {@code cacheEnabled} the repeated parse of the same token is
+ * answered by the {@code VerifiedTokenCache}, which is what an authenticated client sees on every request after
+ * the first; without it each call pays for the HMAC check and the claims parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    @Param({"true", "false"})
+    boolean cacheEnabled;
+
+    private JwtUtils jwtUtils;
+
+    private UserDetailsImpl userDetails;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = SecurityFixtures.jwtUtils(cacheEnabled);
+        userDetails = SecurityFixtures.userDetails();
+        token = jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtUtils.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtils.isTokenValid(token, userDetails);
+    }
+}
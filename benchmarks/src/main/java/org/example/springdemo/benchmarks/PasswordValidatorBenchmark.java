@@ -0,0 +1,28 @@
+package org.example.springdemo.benchmarks;
+
+import org.example.springdemo.vaidation.StrongPasswordValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code @StrongPassword} check run on every signup and imported row, for a password that passes and one
+ * that fails on the last lookahead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+    @Param({"Benchmark1!", "Benchmark12"})
+    String password;
+
+    private final StrongPasswordValidator validator = new StrongPasswordValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(password, null);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.springdemo.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springdemo.config.security.JwtKeyProvider;
+import org.example.springdemo.config.security.JwtUtils;
+import org.example.springdemo.config.security.VerifiedTokenCache;
+import org.example.springdemo.model.User;
+import org.example.springdemo.model.security.Role;
+import org.example.springdemo.model.security.Roles;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.example.springdemo.service.security.UserDetailsServiceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+/**
+ * Builds the security components outside of a Spring context, configured like {@code application.properties}.
+ */
+final class SecurityFixtures {
+    static final String JWT_SECRET = "c3ByaW5nLWRlbW8tYmVuY2htYXJrLXNlY3JldC1rZXktMjU2LWJpdHM=";
+    static final String JWT_KEY_ID = "default";
+    static final int JWT_EXPIRATION_MS = 3_600_000;
+    static final long JWT_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private SecurityFixtures() {
+    }
+
+    static JwtUtils jwtUtils(boolean cacheEnabled) {
+        JwtKeyProvider keyProvider = new JwtKeyProvider(JWT_SECRET, JWT_KEY_ID);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(keyProvider, new SimpleMeterRegistry(), cacheEnabled,
+                JWT_CACHE_MAXIMUM_SIZE);
+        JwtUtils jwtUtils = new JwtUtils(keyProvider, tokenCache);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", JWT_EXPIRATION_MS);
+
+        return jwtUtils;
+    }
+
+    static User user() {
+        User user = new User(1L, "benchmark", "benchmark@example.org",
+                "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy");
+        user.setVersion(3);
+        user.setRoles(Set.of(new Role(Roles.ROLE_USER), new Role(Roles.ROLE_MODERATOR)));
+
+        return user;
+    }
+
+    static UserDetailsImpl userDetails() {
+        return UserDetailsServiceImpl.toUserDetails(user());
+    }
+}
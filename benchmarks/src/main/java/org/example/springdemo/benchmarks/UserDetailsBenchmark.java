@@ -0,0 +1,32 @@
+package org.example.springdemo.benchmarks;
+
+import org.example.springdemo.model.User;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.example.springdemo.service.security.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a loaded {@link User} to the principal, done on every signin and on every lookup that misses the user
+ * details cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = SecurityFixtures.user();
+    }
+
+    @Benchmark
+    public UserDetailsImpl build() {
+        return UserDetailsServiceImpl.toUserDetails(user);
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.springdemo.config.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the HMAC keys used to sign and verify JWTs. Keys are decoded once and looked up by the {@code kid}
+ * header, so a new signing key can be added and activated at runtime while tokens signed with the previous
+ * one stay verifiable until that key is removed.
+ * <p>
+ * Besides {@code app.jwtSecret} under {@code app.jwtKeyId}, {@code app.jwtKeys} configures further keys as a comma
+ * separated list of {@code <key id>:<base64 secret>} entries and {@code app.jwtActiveKeyId} names the one that
+ * signs, so that a rotation survives a restart: add the new key everywhere, then activate it, and drop the old
+ * entry once its tokens have expired.
+ */
+@Component
+public class JwtKeyProvider extends LocatorAdapter<Key> {
+    private final Map<String, SecretKey> keys = new ConcurrentHashMap<>();
+
+    private final String legacyKeyId;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile SigningKey signingKey;
+
+    public JwtKeyProvider(String jwtSecret, String jwtKeyId) {
+        this(jwtSecret, jwtKeyId, "", jwtKeyId);
+    }
+
+    @Autowired
+    public JwtKeyProvider(@Value("${app.jwtSecret}") String jwtSecret, @Value("${app.jwtKeyId}") String jwtKeyId,
+                          @Value("${app.jwtKeys}") String jwtKeys, @Value("${app.jwtActiveKeyId}") String activeKeyId) {
+        this.legacyKeyId = jwtKeyId;
+        addKey(jwtKeyId, jwtSecret);
+
+        for (String entry : jwtKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            int separator = entry.indexOf(':');
+
+            if (separator <= 0) {
+                throw new IllegalArgumentException("JWT key entries must look like <key id>:<base64 secret>");
+            }
+
+            addKey(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+
+        activateKey(activeKeyId);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the secret is not base64 or too short for HMAC-SHA
+     * @throws IllegalStateException    if the key id is already in use
+     */
+    public void addKey(String keyId, String base64Secret) {
+        SecretKey key;
+
+        try {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Invalid secret for JWT key id " + keyId + ": " + e.getMessage(), e);
+        }
+
+        // A key id that signed tokens must keep verifying them, so it is never given another secret.
+        if (keys.putIfAbsent(keyId, key) != null) {
+            throw new IllegalStateException("JWT key id already in use: " + keyId);
+        }
+    }
+
+    public void activateKey(String keyId) {
+        lock.lock();
+        try {
+            SecretKey key = keys.get(keyId);
+
+            if (key == null) {
+                throw new IllegalArgumentException("Unknown JWT key id: " + keyId);
+            }
+
+            signingKey = new SigningKey(keyId, key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeKey(String keyId) {
+        lock.lock();
+        try {
+            if (keyId.equals(signingKey.id())) {
+                throw new IllegalStateException("Cannot remove the active JWT signing key: " + keyId);
+            }
+
+            keys.remove(keyId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasKey(String keyId) {
+        return keys.containsKey(resolveKeyId(keyId));
+    }
+
+    public Set<String> getKeyIds() {
+        return new TreeSet<>(keys.keySet());
+    }
+
+    public SigningKey getSigningKey() {
+        return signingKey;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = resolveKeyId(header.getKeyId());
+        SecretKey key = keys.get(keyId);
+
+        if (key == null) {
+            throw new InvalidKeyException("Unknown JWT key id: " + keyId);
+        }
+
+        return key;
+    }
+
+    /**
+     * Tokens issued before key ids were introduced carry no kid and were signed with the configured secret, which
+     * keeps verifying them after a rotation until its key id is removed.
+     */
+    private String resolveKeyId(String keyId) {
+        return keyId == null ? legacyKeyId : keyId;
+    }
+
+    public record SigningKey(String id, SecretKey key) {
+    }
+}
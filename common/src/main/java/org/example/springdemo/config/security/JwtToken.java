@@ -0,0 +1,15 @@
+package org.example.springdemo.config.security;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature has already been verified, so callers can read them without parsing
+ * the token again. The subject is the user id, which is also carried in the {@code user_id} claim.
+ */
+public record JwtToken(String id, String keyId, String subject, Long userId, String username, String email, Long version,
+                       Date expiration, List<String> roles) {
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
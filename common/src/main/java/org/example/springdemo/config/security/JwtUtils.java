@@ -0,0 +1,103 @@
+package org.example.springdemo.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class JwtUtils {
+    static final String USER_ID_CLAIM = "user_id";
+    static final String USERNAME_CLAIM = "username";
+    static final String EMAIL_CLAIM = "email";
+    static final String VERSION_CLAIM = "ver";
+    static final String ROLES_CLAIM = "roles";
+
+    private final JwtKeyProvider keyProvider;
+
+    private final VerifiedTokenCache tokenCache;
+
+    private final JwtParser jwtParser;
+
+    @Value("${app.jwtExpirationMs}")
+    private int jwtExpirationMs;
+
+    public JwtUtils(JwtKeyProvider keyProvider, VerifiedTokenCache tokenCache) {
+        this.keyProvider = keyProvider;
+        this.tokenCache = tokenCache;
+        this.jwtParser = Jwts.parser().keyLocator(keyProvider).build();
+    }
+
+    public boolean isTokenValid(String token, UserDetailsImpl userDetails) {
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public boolean isTokenValid(JwtToken token, UserDetailsImpl userDetails) {
+        return token.subject().equals(String.valueOf(userDetails.id())) && !token.isExpired();
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parseToken(token).username();
+    }
+
+    public JwtToken parseToken(String token) {
+        return tokenCache.get(token, this::verifyToken);
+    }
+
+    private JwtToken verifyToken(String token) {
+        Jws<Claims> jws = jwtParser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+
+        return new JwtToken(claims.getId(), jws.getHeader().getKeyId(), claims.getSubject(), claims.get(USER_ID_CLAIM, Long.class),
+                claims.get(USERNAME_CLAIM, String.class), claims.get(EMAIL_CLAIM, String.class),
+                claims.get(VERSION_CLAIM, Long.class),
+                claims.getExpiration(), getRoles(claims));
+    }
+
+    private List<String> getRoles(Claims claims) {
+        if (claims.get(ROLES_CLAIM) instanceof Collection<?> roles) {
+            return roles.stream().map(String::valueOf).toList();
+        }
+
+        return List.of();
+    }
+
+    public String generateToken(UserDetailsImpl userDetails) {
+        JwtKeyProvider.SigningKey signingKey = keyProvider.getSigningKey();
+
+        return Jwts.builder()
+                .header()
+                .type("JWT")
+                .keyId(signingKey.id())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .subject(String.valueOf(userDetails.id()))
+                .claims(generateClaims(userDetails))
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
+                .signWith(signingKey.key())
+                .compact();
+    }
+
+    private Map<String, ?> generateClaims(UserDetailsImpl userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userDetails.id());
+        claims.put(USERNAME_CLAIM, userDetails.username());
+        claims.put(EMAIL_CLAIM, userDetails.email());
+        claims.put(VERSION_CLAIM, userDetails.version());
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+
+        return claims;
+    }
+}
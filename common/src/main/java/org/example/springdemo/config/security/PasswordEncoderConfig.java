@@ -0,0 +1,130 @@
+package org.example.springdemo.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Password encoding with a configurable algorithm and cost. Hashes are stored with an {@code {id}} prefix, so
+ * changing the algorithm or cost only affects new hashes; existing ones are upgraded on the next successful signin.
+ * Hashes stored before the prefix was introduced are read as BCrypt.
+ * <p>
+ * When {@code app.passwordEncoderTargetMs} is positive, the cost of the encoding algorithm is raised at startup
+ * from the configured value until a single hash takes at least that long on the current hardware.
+ * <p>
+ * Hashing and verification times are published as {@code auth.password}, see {@link TimedPasswordEncoder}.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    static final String BCRYPT = "bcrypt";
+    static final String PBKDF2 = "pbkdf2";
+    static final String ARGON2 = "argon2";
+
+    private static final int BCRYPT_MAX_STRENGTH = 31;
+    private static final int PBKDF2_MAX_ITERATIONS = 10_000_000;
+    private static final int ARGON2_MAX_ITERATIONS = 64;
+    private static final String CALIBRATION_PASSWORD = "Calibration1!";
+
+    @Value("${app.passwordEncoder}")
+    private String encoderId;
+
+    @Value("${app.passwordEncoderTargetMs}")
+    private long targetMs;
+
+    @Value("${app.bcryptStrength}")
+    private int bcryptStrength;
+
+    @Value("${app.pbkdf2Iterations}")
+    private int pbkdf2Iterations;
+
+    @Value("${app.argon2Iterations}")
+    private int argon2Iterations;
+
+    @Value("${app.argon2MemoryKib}")
+    private int argon2MemoryKib;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        if (!Set.of(BCRYPT, PBKDF2, ARGON2).contains(encoderId)) {
+            throw new IllegalArgumentException("Unknown password encoder: " + encoderId);
+        }
+
+        int strength = BCRYPT.equals(encoderId)
+                ? calibrate(BCRYPT, PasswordEncoderConfig::bcrypt, bcryptStrength, BCRYPT_MAX_STRENGTH, c -> c + 1)
+                : bcryptStrength;
+        int pbkdf2Cost = PBKDF2.equals(encoderId)
+                ? calibrate(PBKDF2, PasswordEncoderConfig::pbkdf2, pbkdf2Iterations, PBKDF2_MAX_ITERATIONS, c -> c * 2)
+                : pbkdf2Iterations;
+        int argon2Cost = ARGON2.equals(encoderId)
+                ? calibrate(ARGON2, this::argon2, argon2Iterations, ARGON2_MAX_ITERATIONS, c -> c + 1)
+                : argon2Iterations;
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt(strength));
+        encoders.put(PBKDF2, pbkdf2(pbkdf2Cost));
+        encoders.put(ARGON2, argon2(argon2Cost));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+
+        return new TimedPasswordEncoder(passwordEncoder, meterRegistry, encoderId, Set.copyOf(encoders.keySet()),
+                BCRYPT);
+    }
+
+    private int calibrate(String id, IntFunction<PasswordEncoder> factory, int cost, int maxCost,
+                          IntUnaryOperator nextCost) {
+        if (targetMs <= 0) {
+            return cost;
+        }
+
+        long elapsedMs = measure(factory.apply(cost));
+
+        while (elapsedMs < targetMs && cost < maxCost) {
+            cost = Math.min(nextCost.applyAsInt(cost), maxCost);
+            elapsedMs = measure(factory.apply(cost));
+        }
+
+        LOGGER.info("Calibrated {} password encoder to cost {} ({} ms per hash, target {} ms)",
+                id, cost, elapsedMs, targetMs);
+
+        return cost;
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        // The first hash pays for class loading and JIT warm-up, so only the second one is timed.
+        encoder.encode(CALIBRATION_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private static PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, iterations);
+    }
+}
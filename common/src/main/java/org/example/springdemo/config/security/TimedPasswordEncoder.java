@@ -0,0 +1,80 @@
+package org.example.springdemo.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the duration of every hash and verification of the wrapped encoder in {@code auth.password}, tagged
+ * with the operation and the algorithm. Verifications are tagged with the algorithm of the stored hash, read
+ * from its {@code {id}} prefix, so hashes that are still waiting for an upgrade show up separately.
+ */
+class TimedPasswordEncoder implements PasswordEncoder {
+    private static final String METER_NAME = "auth.password";
+
+    private final PasswordEncoder delegate;
+
+    private final Timer encodeTimer;
+
+    private final Map<String, Timer> matchesTimers = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> algorithms;
+
+    private final String legacyAlgorithm;
+
+    /**
+     * @param algorithm       id of the algorithm new hashes are encoded with
+     * @param algorithms      ids the delegate can verify; any other prefix is tagged as {@code unknown}
+     * @param legacyAlgorithm algorithm of hashes without an {@code {id}} prefix
+     */
+    TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry, String algorithm,
+                         Set<String> algorithms, String legacyAlgorithm) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.algorithms = algorithms;
+        this.legacyAlgorithm = legacyAlgorithm;
+        this.encodeTimer = timer("encode", algorithm);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer timer = matchesTimers.computeIfAbsent(algorithmOf(encodedPassword), id -> timer("matches", id));
+
+        return timer.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String algorithmOf(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith("{")) {
+            return legacyAlgorithm;
+        }
+
+        int end = encodedPassword.indexOf('}');
+        String id = end > 0 ? encodedPassword.substring(1, end) : null;
+
+        return algorithms.contains(id) ? id : "unknown";
+    }
+
+    private Timer timer(String operation, String algorithm) {
+        return Timer.builder(METER_NAME)
+                .description("Time spent hashing and verifying passwords")
+                .tag("operation", operation)
+                .tag("algorithm", algorithm)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.springdemo.config.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over token ids. {@link #mightContain(String)} hashes the characters in place, so the
+ * negative check on the request path does not allocate.
+ */
+class TokenBloomFilter {
+    private static final int HASH_FUNCTIONS = 7;
+    private static final int BITS_PER_ENTRY = 10;
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    TokenBloomFilter(int expectedEntries) {
+        this.words = new AtomicLongArray(Math.max(1, (int) (((long) expectedEntries * BITS_PER_ENTRY + 63) / 64)));
+        this.bitCount = words.length() * 64L;
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = index(h1 + i * h2);
+
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units of the value.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+}
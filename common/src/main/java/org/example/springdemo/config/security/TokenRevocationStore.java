@@ -0,0 +1,104 @@
+package org.example.springdemo.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids ({@code jti}) of tokens revoked before their expiration. Each entry is dropped once the token expires
+ * on its own, so the store only grows with the number of live revoked tokens. An optional Bloom filter answers
+ * the common "not revoked" case without touching the map; it is rebuilt from the live entries once enough
+ * revocations have expired to degrade it.
+ */
+@Component
+public class TokenRevocationStore {
+    private final Cache<String, Date> revokedTokens;
+
+    private final boolean bloomFilterEnabled;
+
+    private final int bloomFilterCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile TokenBloomFilter bloomFilter;
+
+    private int bloomFilterSize;
+
+    private int bloomFilterInsertions;
+
+    public TokenRevocationStore(@Value("${app.jwtRevocationBloomFilterEnabled}") boolean bloomFilterEnabled,
+                                @Value("${app.jwtRevocationBloomFilterCapacity}") int bloomFilterCapacity) {
+        this.revokedTokens = Caffeine.newBuilder().expireAfter(new RevocationExpiry()).build();
+        this.bloomFilterEnabled = bloomFilterEnabled;
+        this.bloomFilterCapacity = bloomFilterCapacity;
+        this.bloomFilter = new TokenBloomFilter(bloomFilterCapacity);
+        this.bloomFilterSize = bloomFilterCapacity;
+    }
+
+    public void revoke(JwtToken jwt) {
+        if (jwt.id() == null || jwt.isExpired()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            revokedTokens.put(jwt.id(), jwt.expiration());
+
+            if (++bloomFilterInsertions > bloomFilterSize) {
+                rebuildBloomFilter();
+            } else {
+                bloomFilter.put(jwt.id());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRevoked(JwtToken jwt) {
+        if (jwt.id() == null) {
+            return false;
+        }
+
+        if (bloomFilterEnabled && !bloomFilter.mightContain(jwt.id())) {
+            return false;
+        }
+
+        return revokedTokens.getIfPresent(jwt.id()) != null;
+    }
+
+    private void rebuildBloomFilter() {
+        revokedTokens.cleanUp();
+
+        int liveEntries = (int) revokedTokens.estimatedSize();
+        int size = Math.max(bloomFilterCapacity, liveEntries * 2);
+        TokenBloomFilter rebuilt = new TokenBloomFilter(size);
+        revokedTokens.asMap().keySet().forEach(rebuilt::put);
+
+        bloomFilter = rebuilt;
+        bloomFilterSize = size;
+        bloomFilterInsertions = liveEntries;
+    }
+
+    private static final class RevocationExpiry implements Expiry<String, Date> {
+        @Override
+        public long expireAfterCreate(String id, Date expiration, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, Date expiration, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, expiration, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, Date expiration, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
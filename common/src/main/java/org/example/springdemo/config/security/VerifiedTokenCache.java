@@ -0,0 +1,89 @@
+package org.example.springdemo.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps tokens whose signature has already been verified, keyed by the SHA-256 hash of the token so raw
+ * bearer tokens are never held in memory. Every entry expires at the token's own {@code exp} claim, and the
+ * cache is bounded in size beyond that.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "jwt.verified";
+
+    private final JwtKeyProvider keyProvider;
+
+    private final boolean enabled;
+
+    private final Cache<ByteBuffer, JwtToken> cache;
+
+    public VerifiedTokenCache(JwtKeyProvider keyProvider, MeterRegistry meterRegistry,
+                              @Value("${app.jwtCacheEnabled}") boolean enabled,
+                              @Value("${app.jwtCacheMaximumSize}") long maximumSize) {
+        this.keyProvider = keyProvider;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public JwtToken get(String token, Function<String, JwtToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        ByteBuffer key = hash(token);
+        JwtToken jwt = cache.get(key, k -> verifier.apply(token));
+
+        // The signing key may have been removed since the token was cached, so verify it again.
+        if (!keyProvider.hasKey(jwt.keyId())) {
+            cache.invalidate(key);
+            return verifier.apply(token);
+        }
+
+        return jwt;
+    }
+
+    private ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<ByteBuffer, JwtToken> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, JwtToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiration().getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, JwtToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, JwtToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.springdemo.model.response;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record UserSummaryResponse(Long id, String username, String email, List<String> roles) {
+    public UserSummaryResponse(Long id, String username, String email, String roleNames) {
+        this(id, username, email, roleNames == null ? List.of() : Arrays.asList(roleNames.split(",")));
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.springdemo.model.security;
+
+public enum Roles {
+    ROLE_ADMIN,
+    ROLE_MODERATOR,
+    ROLE_USER;
+
+    /**
+     * Maps a role name accepted by the signup and import requests to a role, defaulting to {@code ROLE_USER}.
+     */
+    public static Roles fromRequestName(String name) {
+        return switch (name) {
+            case "admin" -> ROLE_ADMIN;
+            case "moderator" -> ROLE_MODERATOR;
+            default -> ROLE_USER;
+        };
+    }
+}
@@ -1,25 +1,18 @@
 package org.example.springdemo.service.security;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import org.example.springdemo.model.User;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public record UserDetailsImpl(Long id, String username, String email, @JsonIgnore String password,
-                              Collection<? extends GrantedAuthority> authorities)
+                              Collection<? extends GrantedAuthority> authorities, long version)
         implements UserDetails {
 
-    public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList());
-
-        return new UserDetailsImpl(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), authorities);
+    public UserDetailsImpl(Long id, String username, String email, String password,
+                           Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, authorities, 0);
     }
 
     @Override
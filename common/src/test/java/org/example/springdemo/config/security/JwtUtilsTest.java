@@ -0,0 +1,164 @@
+package org.example.springdemo.config.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilsTest {
+    private static final String PRIMARY_KEY_ID = "primary";
+    private static final String ROTATED_KEY_ID = "rotated";
+    private static final String PRIMARY_SECRET = "cHJpbWFyeS1zZWNyZXQtcHJpbWFyeS1zZWNyZXQtcHJpbWFyeS1zZWNyZXQ=";
+    private static final String ROTATED_SECRET = "cm90YXRlZC1zZWNyZXQtcm90YXRlZC1zZWNyZXQtcm90YXRlZC1zZWNyZXQ=";
+    private static final int EXPIRATION_MS = 60_000;
+    private static final long CACHE_SIZE = 100;
+
+    private JwtKeyProvider keyProvider;
+
+    private MeterRegistry meterRegistry;
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        keyProvider = new JwtKeyProvider(PRIMARY_SECRET, PRIMARY_KEY_ID);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtils = new JwtUtils(keyProvider, new VerifiedTokenCache(keyProvider, meterRegistry, true, CACHE_SIZE));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", EXPIRATION_MS);
+    }
+
+    @Test
+    void shouldValidateGeneratedToken() {
+        UserDetailsImpl userDetails = buildUserDetails();
+
+        String token = jwtUtils.generateToken(userDetails);
+
+        assertEquals(userDetails.username(), jwtUtils.getUsernameFromToken(token));
+    }
+
+    @Test
+    void shouldParseTokenOnce() {
+        UserDetailsImpl userDetails = buildUserDetails();
+
+        JwtToken jwt = jwtUtils.parseToken(jwtUtils.generateToken(userDetails));
+
+        assertEquals(String.valueOf(userDetails.id()), jwt.subject());
+        assertEquals(userDetails.id(), jwt.userId());
+        assertEquals(userDetails.username(), jwt.username());
+        assertTrue(jwtUtils.isTokenValid(jwt, userDetails));
+        assertFalse(jwt.isExpired());
+    }
+
+    @Test
+    void shouldServeRepeatedTokensFromCache() {
+        String token = jwtUtils.generateToken(buildUserDetails());
+
+        JwtToken first = jwtUtils.parseToken(token);
+        JwtToken second = jwtUtils.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldVerifyTokensSignedWithPreviousKeyAfterRotation() {
+        UserDetailsImpl userDetails = buildUserDetails();
+        String oldToken = jwtUtils.generateToken(userDetails);
+
+        keyProvider.addKey(ROTATED_KEY_ID, ROTATED_SECRET);
+        keyProvider.activateKey(ROTATED_KEY_ID);
+        String newToken = jwtUtils.generateToken(userDetails);
+
+        assertEquals(userDetails.username(), jwtUtils.getUsernameFromToken(oldToken));
+        assertEquals(userDetails.username(), jwtUtils.getUsernameFromToken(newToken));
+    }
+
+    @Test
+    void shouldRejectTokensSignedWithRemovedKey() {
+        UserDetailsImpl userDetails = buildUserDetails();
+        String oldToken = jwtUtils.generateToken(userDetails);
+        jwtUtils.parseToken(oldToken);
+
+        keyProvider.addKey(ROTATED_KEY_ID, ROTATED_SECRET);
+        keyProvider.activateKey(ROTATED_KEY_ID);
+        keyProvider.removeKey(PRIMARY_KEY_ID);
+
+        assertThrows(JwtException.class, () -> jwtUtils.getUsernameFromToken(oldToken));
+        assertTrue(keyProvider.hasKey(ROTATED_KEY_ID));
+    }
+
+    @Test
+    void shouldVerifyTokensWithoutKeyIdAgainstConfiguredKeyAfterRotation() {
+        String legacyToken = Jwts.builder()
+                .subject("1")
+                .claim(JwtUtils.USERNAME_CLAIM, "user")
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(PRIMARY_SECRET)))
+                .compact();
+
+        keyProvider.addKey(ROTATED_KEY_ID, ROTATED_SECRET);
+        keyProvider.activateKey(ROTATED_KEY_ID);
+
+        assertEquals("user", jwtUtils.getUsernameFromToken(legacyToken));
+
+        keyProvider.removeKey(PRIMARY_KEY_ID);
+
+        assertThrows(JwtException.class, () -> jwtUtils.getUsernameFromToken(legacyToken));
+    }
+
+    @Test
+    void shouldSignWithConfiguredActiveKeyAndVerifyPreviousOnesAfterRestart() {
+        UserDetailsImpl userDetails = buildUserDetails();
+        String oldToken = jwtUtils.generateToken(userDetails);
+
+        JwtKeyProvider restarted = new JwtKeyProvider(PRIMARY_SECRET, PRIMARY_KEY_ID,
+                ROTATED_KEY_ID + ":" + ROTATED_SECRET, ROTATED_KEY_ID);
+        JwtUtils restartedJwtUtils = new JwtUtils(restarted,
+                new VerifiedTokenCache(restarted, meterRegistry, true, CACHE_SIZE));
+        ReflectionTestUtils.setField(restartedJwtUtils, "jwtExpirationMs", EXPIRATION_MS);
+        String newToken = restartedJwtUtils.generateToken(userDetails);
+
+        assertEquals(ROTATED_KEY_ID, restartedJwtUtils.parseToken(newToken).keyId());
+        assertEquals(userDetails.username(), restartedJwtUtils.getUsernameFromToken(oldToken));
+        assertThrows(JwtException.class, () -> jwtUtils.getUsernameFromToken(newToken));
+    }
+
+    @Test
+    void shouldRejectMalformedOrDuplicateConfiguredKeys() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyProvider(PRIMARY_SECRET, PRIMARY_KEY_ID, ROTATED_SECRET, PRIMARY_KEY_ID));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyProvider(PRIMARY_SECRET, PRIMARY_KEY_ID, ROTATED_KEY_ID + ":c2hvcnQ=", PRIMARY_KEY_ID));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyProvider(PRIMARY_SECRET, PRIMARY_KEY_ID,
+                PRIMARY_KEY_ID + ":" + ROTATED_SECRET, PRIMARY_KEY_ID));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtKeyProvider(PRIMARY_SECRET, PRIMARY_KEY_ID, "", ROTATED_KEY_ID));
+    }
+
+    @Test
+    void shouldNotRemoveActiveSigningKey() {
+        assertThrows(IllegalStateException.class, () -> keyProvider.removeKey(PRIMARY_KEY_ID));
+    }
+
+    private UserDetailsImpl buildUserDetails() {
+        return new UserDetailsImpl(1L, "user", "user@demo.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
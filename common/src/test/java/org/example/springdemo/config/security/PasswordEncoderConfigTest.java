@@ -0,0 +1,95 @@
+package org.example.springdemo.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderConfigTest {
+    private static final String PASSWORD = "Password1!";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PasswordEncoderConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "app.passwordEncoder=bcrypt",
+                    "app.passwordEncoderTargetMs=0",
+                    "app.bcryptStrength=4",
+                    "app.pbkdf2Iterations=1000",
+                    "app.argon2Iterations=1",
+                    "app.argon2MemoryKib=1024");
+
+    @Test
+    void shouldUpgradeLegacyHashes() {
+        contextRunner.run(context -> {
+            PasswordEncoder encoder = context.getBean(PasswordEncoder.class);
+            String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+            String encoded = encoder.encode(PASSWORD);
+
+            assertTrue(encoded.startsWith("{bcrypt}"));
+            assertTrue(encoder.matches(PASSWORD, legacy));
+            assertTrue(encoder.upgradeEncoding(legacy));
+            assertFalse(encoder.upgradeEncoding(encoded));
+        });
+    }
+
+    @Test
+    void shouldEncodeWithConfiguredAlgorithm() {
+        contextRunner.withPropertyValues("app.passwordEncoder=argon2").run(context -> {
+            PasswordEncoder encoder = context.getBean(PasswordEncoder.class);
+            String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+            String encoded = encoder.encode(PASSWORD);
+
+            assertTrue(encoded.startsWith("{argon2}"));
+            assertTrue(encoder.matches(PASSWORD, encoded));
+            assertTrue(encoder.matches(PASSWORD, bcrypt));
+            assertTrue(encoder.upgradeEncoding(bcrypt));
+        });
+    }
+
+    @Test
+    void shouldTimeHashingByAlgorithm() {
+        contextRunner.run(context -> {
+            PasswordEncoder encoder = context.getBean(PasswordEncoder.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+            encoder.matches(PASSWORD, encoder.encode(PASSWORD));
+            encoder.matches(PASSWORD, legacy);
+            encoder.matches(PASSWORD, "{sha256}" + legacy);
+
+            assertEquals(1, meterRegistry.get("auth.password")
+                    .tags("operation", "encode", "algorithm", "bcrypt").timer().count());
+            assertEquals(2, meterRegistry.get("auth.password")
+                    .tags("operation", "matches", "algorithm", "bcrypt").timer().count());
+            assertEquals(1, meterRegistry.get("auth.password")
+                    .tags("operation", "matches", "algorithm", "unknown").timer().count());
+        });
+    }
+
+    @Test
+    void shouldRaiseCostToTargetLatency() {
+        contextRunner.withPropertyValues("app.passwordEncoderTargetMs=100").run(context -> {
+            PasswordEncoder encoder = context.getBean(PasswordEncoder.class);
+            String encoded = encoder.encode(PASSWORD);
+            int strength = Integer.parseInt(encoded.substring("{bcrypt}$2a$".length(), "{bcrypt}$2a$".length() + 2));
+
+            assertTrue(strength > 4);
+            assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD)));
+        });
+    }
+
+    @Test
+    void shouldFailForUnknownAlgorithm() {
+        contextRunner.withPropertyValues("app.passwordEncoder=md5")
+                .run(context -> assertEquals(IllegalArgumentException.class,
+                        NestedExceptionUtils.getRootCause(context.getStartupFailure()).getClass()));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.springdemo.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationStoreTest {
+    private static final int BLOOM_FILTER_CAPACITY = 16;
+
+    private final TokenRevocationStore tokenRevocationStore = new TokenRevocationStore(true, BLOOM_FILTER_CAPACITY);
+
+    @Test
+    void shouldRevokeToken() {
+        JwtToken revoked = buildToken(60_000);
+        JwtToken active = buildToken(60_000);
+
+        tokenRevocationStore.revoke(revoked);
+
+        assertTrue(tokenRevocationStore.isRevoked(revoked));
+        assertFalse(tokenRevocationStore.isRevoked(active));
+    }
+
+    @Test
+    void shouldKeepRevokedTokensAfterBloomFilterRebuild() {
+        List<JwtToken> revoked = IntStream.range(0, BLOOM_FILTER_CAPACITY * 4)
+                .mapToObj(i -> buildToken(60_000))
+                .toList();
+
+        revoked.forEach(tokenRevocationStore::revoke);
+
+        revoked.forEach(jwt -> assertTrue(tokenRevocationStore.isRevoked(jwt)));
+    }
+
+    @Test
+    void shouldIgnoreExpiredTokens() {
+        JwtToken expired = buildToken(-1_000);
+
+        tokenRevocationStore.revoke(expired);
+
+        assertFalse(tokenRevocationStore.isRevoked(expired));
+    }
+
+    private JwtToken buildToken(long expiresInMs) {
+        return new JwtToken(UUID.randomUUID().toString(), "default", "1", 1L, "user", "user@demo.com", 0L,
+                new Date(System.currentTimeMillis() + expiresInMs), List.of("ROLE_USER"));
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.springdemo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records request latencies in microseconds, one {@link Recorder} per operation. Every second the interval
+ * histograms are appended to {@code latency.hlog}, tagged with the operation, and added to the totals that are
+ * reported at the end of the run.
+ */
+class LatencyRecorder implements AutoCloseable {
+    private static final double MICROSECONDS_PER_MILLISECOND = 1000.0;
+
+    private final Path output;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final PrintStream log;
+
+    private final HistogramLogWriter logWriter;
+
+    private final long startMs = System.currentTimeMillis();
+
+    LatencyRecorder(Path output) throws IOException {
+        this.output = output;
+        Files.createDirectories(output);
+
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            totals.put(operation, new Histogram(3));
+            errors.put(operation, new LongAdder());
+        }
+
+        this.log = new PrintStream(Files.newOutputStream(output.resolve("latency.hlog")), false);
+        this.logWriter = new HistogramLogWriter(log);
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(startMs);
+        logWriter.setBaseTime(startMs);
+        logWriter.outputLegend();
+    }
+
+    void record(Operation operation, long latencyNanos, boolean successful) {
+        recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+
+        if (!successful) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, used at the end of the warm-up.
+     */
+    synchronized void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    synchronized void flushInterval() {
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram();
+
+            if (interval.getTotalCount() > 0) {
+                interval.setTag(operation.tag());
+                logWriter.outputIntervalHistogram(interval);
+                totals.get(operation).add(interval);
+            }
+        }
+    }
+
+    synchronized void report(PrintStream out, double seconds) throws IOException {
+        flushInterval();
+
+        out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram all = new Histogram(3);
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = totals.get(operation);
+
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            all.add(histogram);
+            printRow(out, operation.tag(), histogram, errors.get(operation).sum(), seconds);
+
+            try (PrintStream distribution = new PrintStream(
+                    Files.newOutputStream(output.resolve(operation.tag() + ".hgrm")), false)) {
+                histogram.outputPercentileDistribution(distribution, MICROSECONDS_PER_MILLISECOND);
+            }
+        }
+
+        long allErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        printRow(out, "all", all, allErrors, seconds);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROSECONDS_PER_MILLISECOND,
+                histogram.getValueAtPercentile(99) / MICROSECONDS_PER_MILLISECOND,
+                histogram.getValueAtPercentile(99.9) / MICROSECONDS_PER_MILLISECOND,
+                histogram.getMaxValue() / MICROSECONDS_PER_MILLISECOND);
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+}
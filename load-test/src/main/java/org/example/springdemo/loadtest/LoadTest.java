@@ -0,0 +1,210 @@
+package org.example.springdemo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springdemo.SpringBootDemoApplication;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserImportResponse;
+import org.example.springdemo.service.UserImportService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on a random port with an in-memory database seeded with {@code loadtest.users} users,
+ * drives the mixed workload described by {@link LoadTestSettings} over HTTP and reports latency percentiles and
+ * throughput per operation. Nothing is recorded during the warm-up.
+ */
+public class LoadTest {
+    private static final int SIGNED_IN_USERS = 100;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LoadTestSettings settings;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        // SQL logging and the signin rate limit would dominate the measurement, and the tokens taken before the run
+        // have to outlive it. Everything else is as shipped.
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootDemoApplication.class)
+                .run(Stream.concat(Stream.of(
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--app.loginRateLimitEnabled=false",
+                        "--app.jwtExpirationMs=86400000"), Arrays.stream(args)).toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seed(context.getBean(UserImportService.class), settings.users());
+
+            new LoadTest(settings).run(URI.create("http://localhost:" + port));
+        }
+    }
+
+    private static void seed(UserImportService userImportService, int users) {
+        long start = System.nanoTime();
+
+        List<SignupRequest> requests = new ArrayList<>(users + 1);
+        requests.add(new SignupRequest("moderator", Workload.PASSWORD, null, "moderator@example.org",
+                Set.of("moderator")));
+        IntStream.range(0, users).forEach(i -> requests.add(new SignupRequest(Workload.username(i),
+                Workload.PASSWORD, null, Workload.username(i) + "@example.org", null)));
+
+        UserImportResponse response = userImportService.importUsers(requests.iterator());
+
+        if (!response.rejected().isEmpty()) {
+            throw new IllegalStateException("Seeding rejected " + response.rejected().size() + " users, e.g. "
+                    + response.rejected().get(0));
+        }
+
+        System.out.printf("Seeded %d users in %d ms%n", response.imported(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    void run(URI baseUri) throws Exception {
+        Workload workload = prepare(baseUri);
+
+        try (LatencyRecorder recorder = new LatencyRecorder(settings.output())) {
+            System.out.printf("Warming up for %d s%n", settings.warmup().toSeconds());
+            runPhase(workload, recorder, settings.warmup());
+            recorder.reset();
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(recorder::flushInterval, 1, 1, TimeUnit.SECONDS);
+
+            System.out.printf("Running the %s workload for %d s%n", settings.model().name().toLowerCase(),
+                    settings.duration().toSeconds());
+            long start = System.nanoTime();
+            runPhase(workload, recorder, settings.duration());
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            reporter.shutdown();
+            reporter.awaitTermination(5, TimeUnit.SECONDS);
+
+            recorder.report(System.out, seconds);
+            System.out.printf("Histograms written to %s%n", settings.output().toAbsolutePath());
+        }
+    }
+
+    private Workload prepare(URI baseUri) throws IOException, InterruptedException {
+        // Content requests reuse the tokens of a fixed sample of users, as long-lived clients would.
+        Workload bootstrap = new Workload(baseUri, settings.users(), List.of(), null, settings.mix());
+        List<String> userTokens = new ArrayList<>();
+
+        for (int i = 0; i < Math.min(SIGNED_IN_USERS, settings.users()); i++) {
+            userTokens.add(signin(bootstrap, Workload.username(i)));
+        }
+
+        return new Workload(baseUri, settings.users(), userTokens, signin(bootstrap, "moderator"), settings.mix());
+    }
+
+    private String signin(Workload workload, String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(workload.signin(username),
+                HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Signin of " + username + " failed with " + response.statusCode());
+        }
+
+        JsonNode body = OBJECT_MAPPER.readTree(response.body());
+
+        return body.get("token").asText();
+    }
+
+    private void runPhase(Workload workload, LatencyRecorder recorder, Duration duration) throws Exception {
+        long endNanos = System.nanoTime() + duration.toNanos();
+
+        if (settings.model() == LoadTestSettings.Model.OPEN) {
+            runOpen(workload, recorder, endNanos);
+        } else {
+            runClosed(workload, recorder, endNanos);
+        }
+    }
+
+    private void runClosed(Workload workload, LatencyRecorder recorder, long endNanos) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < settings.concurrency(); i++) {
+            futures.add(clients.submit(() -> {
+                while (System.nanoTime() < endNanos) {
+                    Operation operation = workload.nextOperation();
+                    HttpRequest request = workload.request(operation);
+                    long start = System.nanoTime();
+                    boolean successful;
+
+                    try {
+                        successful = isSuccessful(httpClient.send(request, HttpResponse.BodyHandlers.discarding()));
+                    } catch (IOException e) {
+                        // A refused or reset connection counts as a failed request, as it does in the open model.
+                        successful = false;
+                    }
+
+                    recorder.record(operation, System.nanoTime() - start, successful);
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        clients.shutdown();
+    }
+
+    private void runOpen(Workload workload, LatencyRecorder recorder, long endNanos) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long intendedStart = System.nanoTime();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        while (intendedStart < endNanos) {
+            long delay = intendedStart - System.nanoTime();
+
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+
+            Operation operation = workload.nextOperation();
+            // Latency counts from when the request was due, so that a stalled server cannot hide its own backlog.
+            long due = intendedStart;
+            inFlight.add(httpClient.sendAsync(workload.request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> recorder.record(operation, System.nanoTime() - due,
+                            error == null && isSuccessful(response))));
+            inFlight.removeIf(CompletableFuture::isDone);
+
+            intendedStart += intervalNanos;
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
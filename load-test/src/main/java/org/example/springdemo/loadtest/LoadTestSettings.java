@@ -0,0 +1,54 @@
+package org.example.springdemo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties.
+ *
+ * @param users       number of users seeded before the run
+ * @param model       {@code closed}: a fixed number of clients that each wait for a response before sending the
+ *                    next request; {@code open}: requests arrive at a fixed rate whether or not earlier ones have
+ *                    completed, and latency is measured from the intended send time
+ * @param concurrency clients of the closed model
+ * @param rate        requests per second of the open model
+ * @param mix         relative weight of each operation, e.g. {@code signin=10,signup=5,content=75,users=10}
+ */
+record LoadTestSettings(int users, Model model, int concurrency, int rate, Duration warmup, Duration duration,
+                        Map<Operation, Integer> mix, Path output) {
+
+    enum Model {
+        CLOSED,
+        OPEN
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 1000),
+                Model.valueOf(System.getProperty("loadtest.model", "closed").toUpperCase()),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60)),
+                parseMix(System.getProperty("loadtest.mix", "signin=10,signup=5,content=75,users=10")),
+                Path.of(System.getProperty("loadtest.output", "target/load-test")));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+
+        return weights;
+    }
+}
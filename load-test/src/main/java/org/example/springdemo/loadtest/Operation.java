@@ -0,0 +1,15 @@
+package org.example.springdemo.loadtest;
+
+/**
+ * The request types of the mixed workload. Each one is recorded in its own histogram.
+ */
+enum Operation {
+    SIGNIN,
+    SIGNUP,
+    CONTENT,
+    USERS;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
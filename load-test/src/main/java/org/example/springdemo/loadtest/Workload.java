@@ -0,0 +1,108 @@
+package org.example.springdemo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks the next operation according to the configured mix and builds its request. Signins and content requests
+ * use the seeded users; signups create new ones with unique names.
+ */
+class Workload {
+    static final String PASSWORD = "LoadTest1!";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final URI baseUri;
+
+    private final int users;
+
+    private final List<String> userTokens;
+
+    private final String moderatorToken;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final AtomicLong signups = new AtomicLong();
+
+    Workload(URI baseUri, int users, List<String> userTokens, String moderatorToken, Map<Operation, Integer> mix) {
+        this.baseUri = baseUri;
+        this.users = users;
+        this.userTokens = userTokens;
+        this.moderatorToken = moderatorToken;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static String username(int index) {
+        return "user" + index;
+    }
+
+    Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        throw new IllegalStateException("Operation weights are exhausted");
+    }
+
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (operation) {
+            case SIGNIN -> post("/api/auth/signin", Map.of(
+                    "username", username(random.nextInt(users)),
+                    "password", PASSWORD));
+            case SIGNUP -> {
+                String username = "signup" + signups.incrementAndGet();
+                yield post("/api/auth/signup", Map.of(
+                        "username", username,
+                        "email", username + "@example.org",
+                        "password", PASSWORD,
+                        "confirmPassword", PASSWORD));
+            }
+            case CONTENT -> get("/api/content/user", userTokens.get(random.nextInt(userTokens.size())));
+            case USERS -> get("/api/users?cursor=" + random.nextInt(users) + "&size=50", moderatorToken);
+        };
+    }
+
+    HttpRequest signin(String username) {
+        return post("/api/auth/signin", Map.of("username", username, "password", PASSWORD));
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize the request body", e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+}
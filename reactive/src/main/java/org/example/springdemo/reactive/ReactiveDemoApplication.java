@@ -0,0 +1,17 @@
+package org.example.springdemo.reactive;
+
+import org.example.springdemo.config.security.JwtUtils;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * WebFlux variant of the demo application. Token handling and password encoding come from the components of the
+ * shared spring-demo-common library, so tokens issued by either variant are accepted by the other when they share
+ * a secret.
+ */
+@SpringBootApplication(scanBasePackageClasses = {ReactiveDemoApplication.class, JwtUtils.class})
+public class ReactiveDemoApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveDemoApplication.class, args);
+    }
+}
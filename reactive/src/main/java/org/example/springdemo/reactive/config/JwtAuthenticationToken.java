@@ -0,0 +1,27 @@
+package org.example.springdemo.reactive.config;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import java.util.List;
+
+/**
+ * Bearer token taken from a request, before it has been verified by {@link JwtReactiveAuthenticationManager}.
+ */
+public class JwtAuthenticationToken extends AbstractAuthenticationToken {
+    private final String token;
+
+    public JwtAuthenticationToken(String token) {
+        super(List.of());
+        this.token = token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return null;
+    }
+}
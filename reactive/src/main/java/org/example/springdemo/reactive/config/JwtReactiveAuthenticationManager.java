@@ -0,0 +1,64 @@
+package org.example.springdemo.reactive.config;
+
+import io.jsonwebtoken.JwtException;
+import org.example.springdemo.config.security.JwtToken;
+import org.example.springdemo.config.security.JwtUtils;
+import org.example.springdemo.config.security.TokenRevocationStore;
+import org.example.springdemo.reactive.service.ReactiveUserService;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies bearer tokens with the servlet application's {@link JwtUtils}, so parsing, key rotation and the
+ * verified-token cache behave the same. The user is then loaded without blocking to pick up current roles and to
+ * reject tokens of deleted users.
+ */
+@Component
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+    final JwtUtils jwtUtils;
+    final TokenRevocationStore tokenRevocationStore;
+    final ReactiveUserService userService;
+
+    public JwtReactiveAuthenticationManager(JwtUtils jwtUtils, TokenRevocationStore tokenRevocationStore,
+                                            ReactiveUserService userService) {
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.userService = userService;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return Mono.fromCallable(() -> parse((String) authentication.getCredentials()))
+                .flatMap(jwt -> userService.findUserDetails(jwt.userId())
+                        .switchIfEmpty(Mono.error(
+                                () -> new BadCredentialsException("User Not Found with id: " + jwt.userId())))
+                        .filter(userDetails -> jwtUtils.isTokenValid(jwt, userDetails))
+                        .switchIfEmpty(Mono.error(() -> new BadCredentialsException("JWT Exception: Invalid token")))
+                        .map(userDetails -> new UsernamePasswordAuthenticationToken(userDetails, jwt,
+                                userDetails.getAuthorities())));
+    }
+
+    private JwtToken parse(String token) {
+        JwtToken jwt;
+
+        try {
+            jwt = jwtUtils.parseToken(token);
+        } catch (JwtException e) {
+            throw new BadCredentialsException("JWT Exception: " + e.getMessage(), e);
+        }
+
+        if (tokenRevocationStore.isRevoked(jwt)) {
+            throw new BadCredentialsException("JWT Exception: Token has been revoked");
+        }
+
+        if (jwt.userId() == null) {
+            throw new BadCredentialsException("JWT Exception: Token has no user id");
+        }
+
+        return jwt;
+    }
+}
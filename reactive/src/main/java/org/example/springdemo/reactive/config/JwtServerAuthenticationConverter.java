@@ -0,0 +1,22 @@
+package org.example.springdemo.reactive.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+public class JwtServerAuthenticationConverter implements ServerAuthenticationConverter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return Mono.empty();
+        }
+
+        return Mono.just(new JwtAuthenticationToken(header.substring(BEARER_PREFIX.length())));
+    }
+}
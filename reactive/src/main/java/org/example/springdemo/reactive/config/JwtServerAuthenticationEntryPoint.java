@@ -0,0 +1,49 @@
+package org.example.springdemo.reactive.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Writes the same JSON body as the servlet application's {@code AuthEntryPointJwt}.
+ */
+@Component
+public class JwtServerAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtServerAuthenticationEntryPoint.class);
+
+    final ObjectMapper objectMapper;
+
+    public JwtServerAuthenticationEntryPoint(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException authException) {
+        LOGGER.error("Unauthorized error: {}", authException.getMessage());
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> body = Map.of("status", HttpStatus.UNAUTHORIZED.value(),
+                "error", "Unauthorized", "message", authException.getMessage(),
+                "path", exchange.getRequest().getPath().value());
+
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(body))));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.springdemo.reactive.controller;
+
+import jakarta.validation.Valid;
+import org.example.springdemo.config.security.JwtToken;
+import org.example.springdemo.config.security.JwtUtils;
+import org.example.springdemo.config.security.TokenRevocationStore;
+import org.example.springdemo.model.request.LoginRequest;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.MessageResponse;
+import org.example.springdemo.model.response.UserInfoResponse;
+import org.example.springdemo.reactive.service.ReactiveUserService;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+    private static final String USERNAME_TAKEN = "Error: Username is already taken!";
+    private static final String EMAIL_IN_USE = "Error: Email is already in use!";
+
+    final ReactiveUserService userService;
+    final PasswordEncoder encoder;
+    final JwtUtils jwtUtils;
+    final TokenRevocationStore tokenRevocationStore;
+
+    /**
+     * Hash that an unknown username is checked against, encoded once on first use like the one of the servlet
+     * application's {@code SigninService}.
+     */
+    private final Mono<String> userNotFoundPassword;
+
+    public ReactiveAuthController(ReactiveUserService userService, PasswordEncoder encoder, JwtUtils jwtUtils,
+                                  TokenRevocationStore tokenRevocationStore) {
+        this.userService = userService;
+        this.encoder = encoder;
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.userNotFoundPassword = Mono.fromCallable(() -> encoder.encode("userNotFoundPassword"))
+                .subscribeOn(Schedulers.parallel())
+                .cache();
+    }
+
+    @PostMapping("/signin")
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest request) {
+        return userService.findUserDetails(request.getUsername())
+                // An unknown username costs a hash as well, so the response time does not tell which ones exist.
+                .switchIfEmpty(userNotFoundPassword
+                        .flatMap(encodedPassword -> matches(request.getPassword(), encodedPassword))
+                        .then(Mono.empty()))
+                .filterWhen(userDetails -> matches(request.getPassword(), userDetails.getPassword()))
+                .<ResponseEntity<?>>map(userDetails -> ResponseEntity.ok(toUserInfo(userDetails)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new MessageResponse("Bad credentials")));
+    }
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<MessageResponse>> registerUser(@Valid @RequestBody SignupRequest request) {
+        // Checked before hashing so that a taken name does not cost a hash; the unique constraints have the final say.
+        return userService.existsByUsername(request.getUsername())
+                .filter(Boolean::booleanValue)
+                .map(taken -> badRequest(USERNAME_TAKEN))
+                .switchIfEmpty(userService.existsByEmail(request.getEmail())
+                        .filter(Boolean::booleanValue)
+                        .map(used -> badRequest(EMAIL_IN_USE)))
+                .switchIfEmpty(register(request));
+    }
+
+    @PostMapping("/signout")
+    @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
+    public Mono<ResponseEntity<MessageResponse>> logoutUser(Authentication authentication) {
+        if (authentication.getCredentials() instanceof JwtToken jwt) {
+            tokenRevocationStore.revoke(jwt);
+        }
+
+        return Mono.just(ResponseEntity.ok(new MessageResponse("You've been signed out!")));
+    }
+
+    private Mono<ResponseEntity<MessageResponse>> register(SignupRequest request) {
+        return Mono.fromCallable(() -> encoder.encode(request.getPassword()))
+                .subscribeOn(Schedulers.parallel())
+                .flatMap(encodedPassword -> userService.register(request, encodedPassword))
+                .map(user -> ResponseEntity.ok(new MessageResponse("User registered successfully!")))
+                // A concurrent signup took the username or email after the checks.
+                .onErrorResume(DataIntegrityViolationException.class, ReactiveAuthController::signupConflict);
+    }
+
+    private static Mono<ResponseEntity<MessageResponse>> signupConflict(DataIntegrityViolationException e) {
+        String constraint = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+
+        if (constraint.contains("UK_USERS_USERNAME")) {
+            return Mono.just(badRequest(USERNAME_TAKEN));
+        }
+
+        if (constraint.contains("UK_USERS_EMAIL")) {
+            return Mono.just(badRequest(EMAIL_IN_USE));
+        }
+
+        return Mono.error(e);
+    }
+
+    private static ResponseEntity<MessageResponse> badRequest(String message) {
+        return ResponseEntity.badRequest().body(new MessageResponse(message));
+    }
+
+    private Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        // Password hashing is CPU-bound and must not run on the event loop.
+        return Mono.fromCallable(() -> encoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    private UserInfoResponse toUserInfo(UserDetailsImpl userDetails) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return new UserInfoResponse(userDetails.id(), userDetails.username(), userDetails.email(), roles,
+                jwtUtils.generateToken(userDetails));
+    }
+}
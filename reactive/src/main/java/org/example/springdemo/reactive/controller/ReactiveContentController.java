@@ -0,0 +1,36 @@
+package org.example.springdemo.reactive.controller;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/content")
+public class ReactiveContentController {
+    @GetMapping("/all")
+    public Mono<String> allAccess() {
+        return Mono.just("Public Content.");
+    }
+
+    @GetMapping("/user")
+    @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
+    public Mono<String> userAccess() {
+        return Mono.just("User Content.");
+    }
+
+    @GetMapping("/moderator")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public Mono<String> moderatorAccess() {
+        return Mono.just("Moderator Content.");
+    }
+
+    @GetMapping("/admin")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<String> adminAccess() {
+        return Mono.just("Admin Content.");
+    }
+}
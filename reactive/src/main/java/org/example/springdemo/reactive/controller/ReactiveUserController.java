@@ -0,0 +1,69 @@
+package org.example.springdemo.reactive.controller;
+
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.example.springdemo.reactive.service.ReactiveUserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = ReactiveUserController.NEXT_CURSOR_HEADER)
+@RestController
+@RequestMapping("/api")
+public class ReactiveUserController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public Mono<ResponseEntity<List<UserSummaryResponse>>> getAllUsers(
+            @RequestParam(name = "cursor", defaultValue = "0") long cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        return userService.findPage(cursor, pageSize).collectList().map(users -> {
+            if (users.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+            if (users.size() == pageSize) {
+                response.header(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).id()));
+            }
+
+            return response.body(users);
+        });
+    }
+
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public Flux<UserSummaryResponse> streamAllUsers() {
+        return userService.findPage(0, Integer.MAX_VALUE);
+    }
+
+    @GetMapping("/users/{id}")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public Mono<ResponseEntity<UserSummaryResponse>> getUserById(@PathVariable("id") long id) {
+        return userService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/users/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<HttpStatus>> deleteUser(@PathVariable("id") long id) {
+        return userService.deleteById(id).thenReturn(ResponseEntity.noContent().build());
+    }
+}
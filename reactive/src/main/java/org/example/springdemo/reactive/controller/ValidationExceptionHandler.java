@@ -0,0 +1,23 @@
+package org.example.springdemo.reactive.controller;
+
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.List;
+import java.util.Map;
+
+@RestControllerAdvice
+public class ValidationExceptionHandler {
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, List<String>>> notValid(WebExchangeBindException ex) {
+        List<String> errors = ex.getAllErrors().stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .toList();
+
+        return new ResponseEntity<>(Map.of("errors", errors), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.springdemo.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("users")
+public record UserRow(@Id Long id, String username, String email, String password, @Version Long version) {
+    public UserRow(String username, String email, String password) {
+        this(null, username, email, password, null);
+    }
+}
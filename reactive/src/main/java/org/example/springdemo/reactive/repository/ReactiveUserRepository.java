@@ -0,0 +1,23 @@
+package org.example.springdemo.reactive.repository;
+
+import org.example.springdemo.reactive.model.UserRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Long> {
+    Mono<UserRow> findByUsername(String username);
+    Mono<Boolean> existsByUsername(String username);
+
+    @Query("select exists (select 1 from users where email_key = lower(:email))")
+    Mono<Boolean> existsByEmail(String email);
+
+    @Query("select r.name from roles r join user_roles ur on ur.role_id = r.id where ur.user_id = :userId")
+    Flux<String> findRoleNames(long userId);
+
+    @Modifying
+    @Query("insert into user_roles (user_id, role_id) select :userId, r.id from roles r where r.name in (:roleNames)")
+    Mono<Integer> addRoles(long userId, Iterable<String> roleNames);
+}
@@ -0,0 +1,97 @@
+package org.example.springdemo.reactive.service;
+
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserSummaryResponse;
+import org.example.springdemo.model.security.Roles;
+import org.example.springdemo.reactive.model.UserRow;
+import org.example.springdemo.reactive.repository.ReactiveUserRepository;
+import org.example.springdemo.service.security.UserDetailsImpl;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ReactiveUserService {
+    private static final String SELECT_SUMMARIES = """
+            select u.id, u.username, u.email, listagg(r.name, ',') within group (order by r.name) as roles
+            from users u
+            left join user_roles ur on ur.user_id = u.id
+            left join roles r on r.id = ur.role_id
+            """;
+    private static final String GROUP_SUMMARIES = """
+            group by u.id, u.username, u.email
+            order by u.id
+            """;
+
+    final ReactiveUserRepository userRepository;
+    final DatabaseClient databaseClient;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository, DatabaseClient databaseClient) {
+        this.userRepository = userRepository;
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<UserDetailsImpl> findUserDetails(String username) {
+        return userRepository.findByUsername(username).flatMap(this::toUserDetails);
+    }
+
+    public Mono<UserDetailsImpl> findUserDetails(long id) {
+        return userRepository.findById(id).flatMap(this::toUserDetails);
+    }
+
+    public Flux<UserSummaryResponse> findPage(long afterId, int size) {
+        return databaseClient.sql(SELECT_SUMMARIES + "where u.id > :afterId " + GROUP_SUMMARIES + "limit :size")
+                .bind("afterId", afterId)
+                .bind("size", size)
+                .map((row, metadata) -> new UserSummaryResponse(row.get("id", Long.class),
+                        row.get("username", String.class), row.get("email", String.class),
+                        row.get("roles", String.class)))
+                .all();
+    }
+
+    public Mono<UserSummaryResponse> findById(long id) {
+        return databaseClient.sql(SELECT_SUMMARIES + "where u.id = :id " + GROUP_SUMMARIES)
+                .bind("id", id)
+                .map((row, metadata) -> new UserSummaryResponse(row.get("id", Long.class),
+                        row.get("username", String.class), row.get("email", String.class),
+                        row.get("roles", String.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsByUsername(String username) {
+        return userRepository.existsByUsername(username);
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return userRepository.existsByEmail(email);
+    }
+
+    @Transactional
+    public Mono<UserRow> register(SignupRequest request, String encodedPassword) {
+        Set<String> roleNames = request.getRoles() == null
+                ? Set.of(Roles.ROLE_USER.name())
+                : request.getRoles().stream().map(name -> Roles.fromRequestName(name).name())
+                .collect(Collectors.toSet());
+
+        return userRepository.save(new UserRow(request.getUsername(), request.getEmail(), encodedPassword))
+                .flatMap(user -> userRepository.addRoles(user.id(), roleNames).thenReturn(user));
+    }
+
+    public Mono<Void> deleteById(long id) {
+        return userRepository.deleteById(id);
+    }
+
+    private Mono<UserDetailsImpl> toUserDetails(UserRow user) {
+        return userRepository.findRoleNames(user.id())
+                .map(SimpleGrantedAuthority::new)
+                .collectList()
+                .map(authorities -> new UserDetailsImpl(user.id(), user.username(), user.email(), user.password(),
+                        authorities, user.version()));
+    }
+}
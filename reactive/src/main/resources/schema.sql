@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS roles (
+    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(20) NOT NULL,
+    email VARCHAR(50) NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Emails are unique regardless of case, as in the servlet application's schema.
+    email_key VARCHAR(50) GENERATED ALWAYS AS (LOWER(email)),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email_key UNIQUE (email_key)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    role_id INTEGER NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
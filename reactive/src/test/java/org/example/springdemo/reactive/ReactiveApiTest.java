@@ -0,0 +1,196 @@
+package org.example.springdemo.reactive;
+
+import org.example.springdemo.model.request.LoginRequest;
+import org.example.springdemo.model.request.SignupRequest;
+import org.example.springdemo.model.response.UserInfoResponse;
+import org.example.springdemo.reactive.service.ReactiveUserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "app.bcryptStrength=4")
+@AutoConfigureWebTestClient
+class ReactiveApiTest {
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @SpyBean
+    private PasswordEncoder encoder;
+
+    @SpyBean
+    private ReactiveUserService userService;
+
+    @Test
+    void shouldServePublicContentWithoutToken() {
+        webTestClient.get().uri("/api/content/all").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Public Content.");
+
+        webTestClient.get().uri("/api/content/user").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").isEqualTo("Not Authenticated");
+    }
+
+    @Test
+    void shouldRegisterSignInAndListUsers() {
+        signup("moderator", Set.of("moderator"));
+        String token = signin("moderator").token();
+
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.username == 'moderator')].roles[0]").isEqualTo("ROLE_MODERATOR")
+                .jsonPath("$[0].password").doesNotExist();
+
+        webTestClient.get().uri("/api/content/admin")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldRejectDuplicateAndInvalidSignup() {
+        signup("duplicate", null);
+
+        webTestClient.post().uri("/api/auth/signup")
+                .bodyValue(signupRequest("duplicate", null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Error: Username is already taken!");
+
+        webTestClient.post().uri("/api/auth/signup")
+                .bodyValue(SignupRequest.builder().username("x").email("x@demo.com").password(PASSWORD)
+                        .confirmPassword(PASSWORD).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0]").isEqualTo("Username must be from 3 to 20 characters.");
+    }
+
+    @Test
+    void shouldRejectEmailThatDiffersOnlyInCase() {
+        signup("casedemail", null);
+
+        webTestClient.post().uri("/api/auth/signup")
+                .bodyValue(SignupRequest.builder().username("casedother").email("CasedEmail@Demo.com")
+                        .password(PASSWORD).confirmPassword(PASSWORD).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Error: Email is already in use!");
+    }
+
+    @Test
+    void shouldRejectSignupThatLosesRaceForUsernameOrEmail() {
+        signup("raced", null);
+
+        // As if a concurrent signup took the names between the existence checks and the insert.
+        doReturn(Mono.just(false)).when(userService).existsByUsername(any());
+        doReturn(Mono.just(false)).when(userService).existsByEmail(any());
+
+        webTestClient.post().uri("/api/auth/signup")
+                .bodyValue(signupRequest("raced", null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Error: Username is already taken!");
+
+        webTestClient.post().uri("/api/auth/signup")
+                .bodyValue(SignupRequest.builder().username("racedemail").email("Raced@Demo.com").password(PASSWORD)
+                        .confirmPassword(PASSWORD).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Error: Email is already in use!");
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+        signup("wrongpassword", null);
+
+        webTestClient.post().uri("/api/auth/signin")
+                .bodyValue(LoginRequest.builder().username("wrongpassword").password("Wrong1!").build())
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void shouldHashPasswordOfUnknownUsername() {
+        webTestClient.post().uri("/api/auth/signin")
+                .bodyValue(LoginRequest.builder().username("unknown").password(PASSWORD).build())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verify(encoder).matches(eq(PASSWORD), anyString());
+    }
+
+    @Test
+    void shouldRevokeTokenOnSignout() {
+        signup("signout", null);
+        String token = signin("signout").token();
+
+        webTestClient.get().uri("/api/content/user")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri("/api/auth/signout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/content/user")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").isEqualTo("JWT Exception: Token has been revoked");
+    }
+
+    private void signup(String username, Set<String> roles) {
+        webTestClient.post().uri("/api/auth/signup")
+                .bodyValue(signupRequest(username, roles))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private UserInfoResponse signin(String username) {
+        UserInfoResponse response = webTestClient.post().uri("/api/auth/signin")
+                .bodyValue(LoginRequest.builder().username(username).password(PASSWORD).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserInfoResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(response);
+        assertEquals(username, response.username());
+
+        return response;
+    }
+
+    private static SignupRequest signupRequest(String username, Set<String> roles) {
+        return SignupRequest.builder()
+                .username(username)
+                .email(username + "@demo.com")
+                .password(PASSWORD)
+                .confirmPassword(PASSWORD)
+                .roles(roles)
+                .build();
+    }
+}
@@ -1,97 +0,0 @@
-package org.example.springdemo.config.security;
-
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.MalformedJwtException;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.NonNull;
-import org.example.springdemo.service.security.UserDetailsServiceImpl;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-
-public class AuthTokenFilter extends OncePerRequestFilter {
-    private static final Logger LOGGER = LoggerFactory.getLogger(AuthTokenFilter.class);
-    private static final String AUTH_REQUEST = "/api/auth";
-    public static final String BEARER_HEADER_PREFIX = "Bearer ";
-
-    @Autowired
-    private JwtUtils jwtUtils;
-
-    @Autowired
-    private UserDetailsServiceImpl userDetailsService;
-
-    @Override
-    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
-                                    @NonNull FilterChain filterChain)
-            throws ServletException, IOException {
-        try {
-            if (isAuthRequest(request)) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            String token = getTokenFromRequest(request);
-
-            if (token == null) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            String username = jwtUtils.getUsernameFromToken(token);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtils.isTokenValid(token, userDetails)) {
-                    setAuthentication(request, userDetails);
-                }
-            }
-
-            filterChain.doFilter(request, response);
-        } catch (MalformedJwtException e) {
-            handleErrorToken(response, "Malformed JWT: " + e.getMessage());
-        } catch (JwtException e) {
-            handleErrorToken(response, "JWT Exception: " + e.getMessage());
-        }
-    }
-
-    private boolean isAuthRequest(HttpServletRequest request) {
-        return request.getServletPath().contains(AUTH_REQUEST);
-    }
-
-    private String getTokenFromRequest(HttpServletRequest request) {
-        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-
-        if (header != null && header.startsWith(BEARER_HEADER_PREFIX)) {
-            return header.replace(BEARER_HEADER_PREFIX, "");
-        }
-
-        return null;
-    }
-
-    private void setAuthentication(HttpServletRequest request, UserDetails userDetails) {
-        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities()
-        );
-        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-    }
-
-    private void handleErrorToken(HttpServletResponse response, String message) throws IOException {
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.getWriter().write("{\"error\": \"" + message + "\"}");
-        LOGGER.error("Cannot set user authentication: {}", message);
-    }
-}
@@ -1,75 +0,0 @@
-package org.example.springdemo.config.security;
-
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import org.example.springdemo.service.security.UserDetailsImpl;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Component;
-
-import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
-
-@Component
-public class JwtUtils {
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
-
-    @Value("${app.jwtExpirationMs}")
-    private int jwtExpirationMs;
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        return getUsernameFromToken(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    public String getUsernameFromToken(String token) {
-        return getClaim(token, Claims::getSubject);
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return getExpirationFromToken(token).before(new Date());
-    }
-
-    private Date getExpirationFromToken(String token) {
-        return getClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims payload = Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claimsResolver.apply(payload);
-    }
-
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
-    public String generateToken(UserDetailsImpl userDetails) {
-        return Jwts.builder()
-                .header()
-                .type("JWT")
-                .and()
-                .subject(userDetails.email())
-                .claims(generateClaims(userDetails))
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getKey())
-                .compact();
-    }
-
-    private Map<String, ?> generateClaims(UserDetailsImpl userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("user_id", userDetails.id());
-
-        return claims;
-    }
-}
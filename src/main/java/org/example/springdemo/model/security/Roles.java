@@ -1,7 +0,0 @@
-package org.example.springdemo.model.security;
-
-public enum Roles {
-    ROLE_ADMIN,
-    ROLE_MODERATOR,
-    ROLE_USER
-}